@@ -0,0 +1,158 @@
+/**
+ * *****************************************************************************
+ * Copyright C 2015, The Pistoia Alliance
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *****************************************************************************
+ */
+package org.helm.notation2;
+
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.helm.notation2.exception.MonomerException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * MonomerCachePersister writes the local monomer cache behind the changes.
+ * Save requests are coalesced: a request is written one interval after it was
+ * made, together with all requests made in the meantime. Two writes start at
+ * least one interval apart, and a pending request is written at shutdown.
+ * The cache is only written if the monomer database has changed since the
+ * last write.
+ */
+final class MonomerCachePersister {
+
+  private static final Logger LOG = LoggerFactory.getLogger(MonomerCachePersister.class);
+
+  /** default minimal time between two writes in milliseconds */
+  static final long DEFAULT_WRITE_INTERVAL = 2000;
+
+  private final AtomicBoolean pending = new AtomicBoolean(false);
+
+  private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, "MonomerCachePersister");
+      thread.setDaemon(true);
+      return thread;
+    }
+  });
+
+  private volatile MonomerFactory factory;
+
+  private volatile long writeInterval = DEFAULT_WRITE_INTERVAL;
+
+  /* start of the last write */
+  private volatile long lastWrite;
+
+  private final AtomicInteger writeCount = new AtomicInteger();
+
+  private final Runnable task = new Runnable() {
+    @Override
+    public void run() {
+      long delay = lastWrite + writeInterval - System.currentTimeMillis();
+      if (delay > 0) {
+        /* the previous write started less than one interval ago */
+        executor.schedule(this, delay, TimeUnit.MILLISECONDS);
+      } else if (pending.compareAndSet(true, false)) {
+        /* changes made from now on need another write */
+        write();
+      }
+    }
+  };
+
+  /**
+   * Constructor, registers the final write at shutdown
+   */
+  MonomerCachePersister() {
+    Runtime.getRuntime().addShutdownHook(new Thread("MonomerCachePersisterShutdown") {
+      @Override
+      public void run() {
+        flush();
+      }
+    });
+  }
+
+  /**
+   * requests a write of the monomer cache; it is done one interval later, but
+   * not before one interval has passed since the start of the last write;
+   * further requests until then are merged into it
+   *
+   * @param monomerFactory MonomerFactory to save
+   */
+  void schedule(MonomerFactory monomerFactory) {
+    factory = monomerFactory;
+    if (pending.compareAndSet(false, true)) {
+      executor.schedule(task, writeInterval, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * writes a pending change of the monomer cache immediately
+   */
+  synchronized void flush() {
+    if (pending.compareAndSet(true, false)) {
+      write();
+    }
+  }
+
+  /**
+   * sets the minimal time between two writes
+   *
+   * @param interval time in milliseconds
+   */
+  void setWriteInterval(long interval) {
+    writeInterval = interval;
+  }
+
+  /**
+   * @return number of writes of the monomer cache so far
+   */
+  int getWriteCount() {
+    return writeCount.get();
+  }
+
+  /**
+   * writes the monomer cache of the last scheduled MonomerFactory, if the
+   * database has changed
+   */
+  private synchronized void write() {
+    MonomerFactory monomerFactory = factory;
+    if (monomerFactory == null || !MonomerFactory.hasDBChanged()) {
+      return;
+    }
+    /* reset before the snapshot is taken, so later changes are not lost */
+    MonomerFactory.resetDBChanged();
+    lastWrite = System.currentTimeMillis();
+    writeCount.incrementAndGet();
+    try {
+      monomerFactory.saveMonomerCache();
+    } catch (IOException | MonomerException e) {
+      MonomerFactory.setDBChanged(true);
+      LOG.error("Unable to save the local monomer cache: " + e.getMessage());
+    }
+  }
+}
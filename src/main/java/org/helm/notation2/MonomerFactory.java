@@ -31,8 +31,14 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -127,7 +133,12 @@ public class MonomerFactory {
 
   private static Logger logger = Logger.getLogger(MonomerFactory.class.toString());
 
-  private static boolean dbChanged = true;
+  private static volatile boolean dbChanged = true;
+
+  private static final MonomerCachePersister cachePersister = new MonomerCachePersister();
+
+  /** request specific MonomerStore of the current thread, e.g. for xHELM */
+  private static final ThreadLocal<MonomerStore> boundMonomerStore = new ThreadLocal<MonomerStore>();
 
   /**
    * retruns the monomer database
@@ -161,19 +172,52 @@ public class MonomerFactory {
 
   protected MonomerStore monomerStore;
 
+  /**
+   * returns the MonomerStore bound to the current thread or, if there is none,
+   * the MonomerStore based on MonomerFactory's monomerDB and smilesMonomerDB
+   *
+   * @return MonomerStore
+   */
+  public MonomerStore getMonomerStore() {
+    MonomerStore store = boundMonomerStore.get();
+    if (store != null) {
+      return store;
+    }
+    return getDefaultMonomerStore();
+  }
+
   /**
    * create a MonomerStore instance based on MonomerFactory's monomerDB and
-   * smilesMonomerDB
+   * smilesMonomerDB, regardless of a MonomerStore bound to the current thread
    *
    * @return MonomerStore
    */
-  public synchronized MonomerStore getMonomerStore() {
+  public synchronized MonomerStore getDefaultMonomerStore() {
     if (monomerStore == null) {
       monomerStore = new MonomerStore(monomerDB, smilesMonomerDB);
     }
     return monomerStore;
   }
 
+  /**
+   * binds a MonomerStore to the current thread; until it is unbound all
+   * monomers of the thread are looked up in this store. Usually it is layered
+   * over the default store, e.g. with the monomers of a xHELM input, so the
+   * default store is neither changed nor has to be reloaded afterwards
+   *
+   * @param store MonomerStore for the current thread
+   */
+  public static void bindMonomerStore(MonomerStore store) {
+    boundMonomerStore.set(store);
+  }
+
+  /**
+   * removes the MonomerStore bound to the current thread
+   */
+  public static void unbindMonomerStore() {
+    boundMonomerStore.remove();
+  }
+
   public synchronized Map<String, Attachment> getAttachmentDB() {
     return attachmentDB;
   }
@@ -322,14 +366,30 @@ public class MonomerFactory {
   }
 
   private static void serializeMonomerCache(MonomerCache monomerCache,
-      String fileName) throws IOException {
-    FileOutputStream fos = new FileOutputStream(fileName);
+      File file) throws IOException {
+    FileOutputStream fos = new FileOutputStream(file);
     ObjectOutputStream oos = new ObjectOutputStream(fos);
     oos.writeObject(monomerCache);
     oos.close();
     fos.close();
   }
 
+  /**
+   * replaces the target file by the temporary file in one step, so readers
+   * never see a partially written file
+   *
+   * @param tmpFile temporary file
+   * @param fileName target file
+   * @throws IOException
+   */
+  private static void replaceFile(File tmpFile, String fileName) throws IOException {
+    try {
+      Files.move(tmpFile.toPath(), new File(fileName).toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(tmpFile.toPath(), new File(fileName).toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
   private static MonomerCache deserializeMonomerCache(String fileName)
       throws IOException, MonomerException {
     FileInputStream fis = new FileInputStream(fileName);
@@ -386,6 +446,9 @@ public class MonomerFactory {
       }
     }
 
+    if (monomerStore != null) {
+      monomerStore.markChanged();
+    }
     dbChanged = true;
   }
 
@@ -452,6 +515,8 @@ public class MonomerFactory {
     monomerDB = remoteMonomerCache.getMonomerDB();
     attachmentDB = remoteMonomerCache.getAttachmentDB();
     smilesMonomerDB = remoteMonomerCache.getSmilesMonomerDB();
+    /* the next call of getDefaultMonomerStore wraps the new maps */
+    monomerStore = null;
 
     dbChanged = true;
   }
@@ -652,13 +717,13 @@ public class MonomerFactory {
     return cache;
   }
 
-  private static String buildMonomerDbXMLFromCache(MonomerCache cache)
-      throws MonomerException {
+  private static void writeMonomerDbXMLFromCache(MonomerCache cache, Writer writer)
+      throws MonomerException, IOException {
     XMLOutputter outputer = new XMLOutputter(Format.getPrettyFormat());
+    String lineSeparator = System.getProperty("line.separator");
 
-    StringBuilder sb = new StringBuilder();
-    sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + System.getProperty("line.separator") + "<MonomerDB xmlns=\"lmr\" xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\">"
-        + System.getProperty("line.separator"));
+    writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + lineSeparator + "<MonomerDB xmlns=\"lmr\" xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\">"
+        + lineSeparator);
 
     Map<String, Map<String, Monomer>> mDB = cache.getMonomerDB();
     Element polymerListElement = new Element(POLYMER_LIST_ELEMENT);
@@ -680,8 +745,8 @@ public class MonomerFactory {
         polymerElement.getChildren().add(monomerElement);
       }
     }
-    String polymerListString = outputer.outputString(polymerListElement);
-    sb.append(polymerListString + System.getProperty("line.separator"));
+    outputer.output(polymerListElement, writer);
+    writer.write(lineSeparator);
 
     Map<String, Attachment> aDB = cache.getAttachmentDB();
     Element attachmentListElement = new Element(ATTACHMENT_LIST_ELEMENT);
@@ -692,12 +757,9 @@ public class MonomerFactory {
       Element attachmentElement = MonomerParser.getAttachementElement(attachment);
       attachmentListElement.getChildren().add(attachmentElement);
     }
-    String attachmentListString = outputer.outputString(attachmentListElement);
-    sb.append(attachmentListString);
-
-    sb.append(System.getProperty("line.separator") + "</MonomerDB>" + System.getProperty("line.separator"));
+    outputer.output(attachmentListElement, writer);
 
-    return sb.toString();
+    writer.write(lineSeparator + "</MonomerDB>" + lineSeparator);
   }
 
   /**
@@ -801,7 +863,8 @@ public class MonomerFactory {
   }
 
   /**
-   * save monomerCache to disk file
+   * save monomerCache to disk file; the files are written to temporary files
+   * first and replace the existing ones afterwards
    *
    * @throws java.io.IOException
    */
@@ -811,16 +874,64 @@ public class MonomerFactory {
       f.mkdir();
     }
     MonomerCache cache = new MonomerCache();
-    cache.setMonomerDB(getMonomerDB(false));
-    cache.setAttachmentDB(getAttachmentDB());
-    cache.setSmilesMonomerDB(getSmilesMonomerDB(false));
-    serializeMonomerCache(cache, MONOMER_CACHE_FILE_PATH);
+    /* snapshot of the databases, new monomers are added under the store's lock */
+    synchronized (getDefaultMonomerStore()) {
+      cache.setMonomerDB(getMonomerDB(false));
+      cache.setAttachmentDB(getAttachmentDB());
+      cache.setSmilesMonomerDB(getSmilesMonomerDB(false));
+    }
+    File tmpCacheFile = File.createTempFile(MONOMER_CACHE_FILE_NAME, ".tmp", f);
+    try {
+      serializeMonomerCache(cache, tmpCacheFile);
+      replaceFile(tmpCacheFile, MONOMER_CACHE_FILE_PATH);
+    } finally {
+      tmpCacheFile.delete();
+    }
 
-    String monomerDbXML = buildMonomerDbXMLFromCache(cache);
+    File tmpDBFile = File.createTempFile(MONOMER_DB_FILE_NAME, ".tmp", f);
+    try {
+      Writer writer = new OutputStreamWriter(new FileOutputStream(tmpDBFile), Charset.defaultCharset());
+      try {
+        writeMonomerDbXMLFromCache(cache, writer);
+      } finally {
+        writer.close();
+      }
+      replaceFile(tmpDBFile, MONOMER_DB_FILE_PATH);
+    } finally {
+      tmpDBFile.delete();
+    }
+  }
 
-    FileOutputStream fos = new FileOutputStream(MONOMER_DB_FILE_PATH);
-    fos.write(monomerDbXML.getBytes());
-    fos.close();
+  /**
+   * save monomerCache to disk file in the background; the files are written
+   * at most once per write interval and only if the database has changed,
+   * requests arriving in between are combined into one write
+   */
+  public void saveMonomerCacheAsync() {
+    cachePersister.schedule(this);
+  }
+
+  /**
+   * writes pending changes of the monomerCache to disk file immediately
+   */
+  public static void flushMonomerCache() {
+    cachePersister.flush();
+  }
+
+  /**
+   * sets the minimal time between two background writes of the monomerCache
+   *
+   * @param interval time in milliseconds
+   */
+  public static void setMonomerCacheWriteInterval(long interval) {
+    cachePersister.setWriteInterval(interval);
+  }
+
+  /**
+   * @return number of background writes of the monomerCache so far
+   */
+  static int getMonomerCacheWriteCount() {
+    return cachePersister.getWriteCount();
   }
 
   private static Map<String, Map<String, Monomer>> buildMonomerDB(
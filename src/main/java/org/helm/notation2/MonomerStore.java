@@ -2,11 +2,14 @@ package org.helm.notation2;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.helm.notation2.exception.MonomerException;
 import org.helm.notation2.tools.SMILES;
@@ -14,7 +17,8 @@ import org.helm.notation2.tools.SMILES;
 /**
  * This class represents a store for monomers. It is mainly used to seperate the
  * monomers coming from a single (XHELM) file from the monomers within the local
- * database.
+ * database. The monomers are read and added under the lock of the store, so
+ * monomers can be added while other threads read the store.
  *
  * @author maisel
  *
@@ -24,6 +28,12 @@ public class MonomerStore {
 
   private Map<String, Monomer> smilesMonomerDB;
 
+  /** store below this one, null if this store is not layered */
+  private MonomerStore base;
+
+  /** number of changes of this layer */
+  private final AtomicInteger modificationCount = new AtomicInteger();
+
   /**
    * Constructor with Monomer- and SmilesDB
    *
@@ -47,7 +57,48 @@ public class MonomerStore {
   }
 
   /**
-   * returns MonomerDB
+   *
+   * Constructs an empty MonomerStore layered over the given store: monomers
+   * are searched in this store first and then in the base store, new monomers
+   * are only added to this store, the base store is never changed
+   *
+   * @param base store below this one
+   */
+  public MonomerStore(MonomerStore base) {
+    this();
+    this.base = base;
+  }
+
+  /**
+   * returns the store below this one
+   *
+   * @return base store, null if this store is not layered
+   */
+  public MonomerStore getBase() {
+    return base;
+  }
+
+  /**
+   * returns the version of the store, it grows with every change of this
+   * store or of its base store; tables derived from the monomers can be kept
+   * as long as the version does not change
+   *
+   * @return version of the store
+   */
+  public int getVersion() {
+    return (base == null) ? modificationCount.get() : modificationCount.get() + base.getVersion();
+  }
+
+  /**
+   * marks the store as changed, has to be called after the maps of the store
+   * were changed directly
+   */
+  public void markChanged() {
+    modificationCount.incrementAndGet();
+  }
+
+  /**
+   * returns MonomerDB of this layer, without the monomers of the base store
    *
    * @return MonomerDB as Map<String, Map<String, Monomer>>
    */
@@ -56,7 +107,8 @@ public class MonomerStore {
   }
 
   /**
-   * returns SmilesMonomerDB
+   * returns SmilesMonomerDB of this layer, without the monomers of the base
+   * store
    *
    * @return SmilesMonomerDB as Map<String, Monomer>
    */
@@ -84,7 +136,7 @@ public class MonomerStore {
    * @throws IOException
    * @throws MonomerException
    */
-  public void addMonomer(Monomer monomer, boolean dbChanged)
+  public synchronized void addMonomer(Monomer monomer, boolean dbChanged)
       throws IOException, MonomerException {
     Map<String, Monomer> monomerMap = monomerDB.get(monomer.getPolymerType());
     String polymerType = monomer.getPolymerType();
@@ -112,7 +164,8 @@ public class MonomerStore {
     }
 
     boolean alreadyAdded = false;
-    alreadyAdded = monomerMap.containsKey(alternateId);
+    alreadyAdded = monomerMap.containsKey(alternateId)
+        || (base != null && base.hasMonomer(polymerType, alternateId));
 
     if (!alreadyAdded) {
       monomerMap.put(alternateId, copyMonomer);
@@ -123,9 +176,11 @@ public class MonomerStore {
       if (!alreadyInSMILESMap) {
         smilesMonomerDB.put(smilesString, copyMonomer);
       }
+      markChanged();
     }
 
-    if (dbChanged) {
+    /* a layered store is never persisted */
+    if (dbChanged && base == null) {
       MonomerFactory.setDBChanged(true);
     }
   }
@@ -138,7 +193,7 @@ public class MonomerStore {
    * @return true if monomer exists, false if not
    */
   public boolean hasMonomer(String polymerType, String alternateId) {
-    return ((monomerDB.get(polymerType) != null) && getMonomer(polymerType, alternateId) != null);
+    return getMonomer(polymerType, alternateId) != null;
   }
 
   /**
@@ -148,9 +203,13 @@ public class MonomerStore {
    * @param alternateId
    * @return the matching monomer
    */
-  public Monomer getMonomer(String polymerType, String alternateId) {
-	Map<String, Monomer> map1 = monomerDB.get(polymerType);
-    return monomerDB.get(polymerType).get(alternateId);
+  public synchronized Monomer getMonomer(String polymerType, String alternateId) {
+    Map<String, Monomer> monomerMap = monomerDB.get(polymerType);
+    Monomer monomer = (monomerMap == null) ? null : monomerMap.get(alternateId);
+    if (monomer == null && base != null) {
+      return base.getMonomer(polymerType, alternateId);
+    }
+    return monomer;
   }
 
   /**
@@ -159,18 +218,41 @@ public class MonomerStore {
    * @param smiles
    * @return the matching monomer
    */
-  public Monomer getMonomer(String smiles) {
-    return smilesMonomerDB.get(smiles);
+  public synchronized Monomer getMonomer(String smiles) {
+    Monomer monomer = smilesMonomerDB.get(smiles);
+    if (monomer == null && base != null) {
+      return base.getMonomer(smiles);
+    }
+    return monomer;
   }
 
   /**
-   * Returns all monomers by polymerType
+   * Returns all monomers by polymerType. For a store without base store this
+   * is the map of the store itself; for a layered store it is an unmodifiable
+   * copy of the monomers of this store and of the base store, built on every
+   * call. To look up single monomers use {@link #getMonomer(String, String)}.
    *
    * @param polymerType
    * @return All monomers with polymerType
    */
-  public Map<String, Monomer> getMonomers(String polymerType) {
-    return monomerDB.get(polymerType);
+  public synchronized Map<String, Monomer> getMonomers(String polymerType) {
+    Map<String, Monomer> monomerMap = monomerDB.get(polymerType);
+    if (base == null) {
+      return monomerMap;
+    }
+    Map<String, Monomer> baseMap = base.getMonomers(polymerType);
+    if (monomerMap == null && baseMap == null) {
+      return null;
+    }
+    /* monomers of this layer hide the ones of the base store */
+    Map<String, Monomer> combined = new TreeMap<String, Monomer>(String.CASE_INSENSITIVE_ORDER);
+    if (baseMap != null) {
+      combined.putAll(baseMap);
+    }
+    if (monomerMap != null) {
+      combined.putAll(monomerMap);
+    }
+    return Collections.unmodifiableMap(combined);
   }
 
   /**
@@ -192,15 +274,17 @@ public class MonomerStore {
    * @return true if the store is empty, false if not
    */
   public boolean isMonomerStoreEmpty() {
-    return (this.monomerDB == null || this.monomerDB.values() == null || this.monomerDB.values().size() == 0);
+    return (this.monomerDB == null || this.monomerDB.values() == null || this.monomerDB.values().size() == 0)
+        && (base == null || base.isMonomerStoreEmpty());
   }
 
   /**
-   * Clears the MonomerStore
+   * Clears the MonomerStore, the base store of a layered store is not changed
    */
   public synchronized void clearMonomers() {
     this.monomerDB.clear();
     this.smilesMonomerDB.clear();
+    markChanged();
   }
 
   @Override
@@ -222,8 +306,14 @@ public class MonomerStore {
    *
    * @return the polymer type set as Set<String>
    */
-  public Set<String> getPolymerTypeSet() {
-    return monomerDB.keySet();
+  public synchronized Set<String> getPolymerTypeSet() {
+    if (base == null) {
+      return monomerDB.keySet();
+    }
+    Set<String> polymerTypes = new TreeSet<String>(String.CASE_INSENSITIVE_ORDER);
+    polymerTypes.addAll(base.getPolymerTypeSet());
+    polymerTypes.addAll(monomerDB.keySet());
+    return polymerTypes;
   }
 
   /**
@@ -58,6 +58,9 @@ public class Nucleotide implements Serializable {
 
   private String naturalAnalog;
 
+  /* components parsed from the notation and the monomers resolved from them */
+  private transient ComponentCache componentCache;
+
   public Nucleotide() {
   }
 
@@ -77,6 +80,20 @@ public class Nucleotide implements Serializable {
     this.positionType = postionType;
   }
 
+  /**
+   * creates a copy of the given nucleotide, the components are parsed again
+   * for the copy
+   *
+   * @param nucleotide nucleotide to copy
+   */
+  public Nucleotide(Nucleotide nucleotide) {
+    this.positionType = nucleotide.positionType;
+    this.symbol = nucleotide.symbol;
+    this.modified = nucleotide.modified;
+    this.notation = nucleotide.notation;
+    this.naturalAnalog = nucleotide.naturalAnalog;
+  }
+
   public int getPositionType() {
     return positionType;
   }
@@ -168,45 +185,27 @@ public class Nucleotide implements Serializable {
    * @return natural Analog or X if natural analog is not available
    */
 
-  public String getNaturalAnalog(MonomerStore monomerStore) {
-    String baseNotation = null;
-    String notation = getNotation();
-    char[] notationChar = notation.toCharArray();
-    for (int i = 0; i < notationChar.length; i++) {
-      if (notationChar[i] == '[') {
-        int pos = NucleotideParser.getMatchingBracketPosition(notationChar, i, '[', ']');
-        i = pos;
-        continue;
-      }
-      // must be the base
-      if (notationChar[i] == '(') {
-        int pos = NucleotideParser.getMatchingBracketPosition(notationChar, i, '(', ')');
-        baseNotation = notation.substring(i + 1, pos);
-        break;
-
-      }
+  public synchronized String getNaturalAnalog(MonomerStore monomerStore) {
+    ComponentCache cache = getComponentCache(monomerStore);
+    if (cache.naturalAnalog == null) {
+      cache.parse();
+      cache.naturalAnalog = findNaturalAnalog(monomerStore, cache.analogBaseId);
     }
+    return cache.naturalAnalog;
+  }
 
+  private static String findNaturalAnalog(MonomerStore monomerStore, String baseNotation) {
     // No base found
     if (baseNotation == null) {
       return "X";
     }
-    // remove first and last bracket
-    if ((baseNotation.charAt(0) == '[')
-        && (baseNotation.charAt(baseNotation.length() - 1) == ']')) {
-      baseNotation = baseNotation.substring(1, baseNotation.length() - 1);
-    } else {
-      baseNotation = baseNotation;
-    }
 
     try {
 
-      Map<String, Monomer> monomers = monomerStore.getMonomers(Monomer.NUCLIEC_ACID_POLYMER_TYPE);
-      Monomer m = monomers.get(baseNotation);
+      Monomer m = monomerStore.getMonomer(Monomer.NUCLIEC_ACID_POLYMER_TYPE, baseNotation);
 
       if (m == null) {
-        Map<String, Monomer> smiles = monomerStore.getSmilesMonomerDB();
-        m = smiles.get(baseNotation);
+        m = monomerStore.getMonomer(baseNotation);
       }
 
       return m.getNaturalAnalog();
@@ -217,6 +216,41 @@ public class Nucleotide implements Serializable {
     }
   }
 
+  /**
+   * find the base of this nucleotide for the natural analog, only the
+   * enclosing "[" and "]" are removed
+   *
+   * @return base monomer ID, null if there is no base
+   */
+  private String getAnalogBaseSymbol() {
+    String baseNotation = null;
+    String notation = getNotation();
+    for (int i = 0; i < notation.length(); i++) {
+      if (notation.charAt(i) == '[') {
+        int pos = NucleotideParser.getMatchingBracketPosition(notation, i, '[', ']');
+        if (pos == -1) {
+          break;
+        }
+        i = pos;
+        continue;
+      }
+      // must be the base
+      if (notation.charAt(i) == '(') {
+        int pos = NucleotideParser.getMatchingBracketPosition(notation, i, '(', ')');
+        baseNotation = notation.substring(i + 1, pos);
+        break;
+
+      }
+    }
+
+    // remove first and last bracket
+    if (baseNotation != null && (baseNotation.charAt(0) == '[')
+        && (baseNotation.charAt(baseNotation.length() - 1) == ']')) {
+      baseNotation = baseNotation.substring(1, baseNotation.length() - 1);
+    }
+    return baseNotation;
+  }
+
   @Deprecated
   public void setNaturalAnalog(String naturalAnalog) {
     this.naturalAnalog = naturalAnalog;
@@ -243,21 +277,10 @@ public class Nucleotide implements Serializable {
    * @param monomerStore - store in which phosphate monomer is located
    * @return phosphate monomer
    */
-  public Monomer getPhosphateMonomer(MonomerStore monomerStore) {
-    String phosphateSymbol = getPhosphateSymbol();
-    if (phosphateSymbol != null && !phosphateSymbol.equalsIgnoreCase("")) {
-      try {
-        Map<String, Monomer> monomers = monomerStore.getMonomers(Monomer.NUCLIEC_ACID_POLYMER_TYPE);
-        Monomer m = monomers.get(phosphateSymbol);
-        return m;
-      } catch (Exception ex) {
-        LOG.info("Unable to get phosphate monomer for "
-            + phosphateSymbol);
-        return null;
-      }
-    } else {
-      return null;
-    }
+  public synchronized Monomer getPhosphateMonomer(MonomerStore monomerStore) {
+    ComponentCache cache = getComponentCache(monomerStore);
+    cache.resolve();
+    return cache.phosphateMonomer;
   }
 
   /**
@@ -284,23 +307,10 @@ public class Nucleotide implements Serializable {
    * @param monomerStore - store in which base monomer is located
    * @return base monomer, could be null
    */
-  public Monomer getBaseMonomer(MonomerStore monomerStore) {
-
-    String baseSymbol = getBaseSymbol();
-    if (baseSymbol != null && !baseSymbol.equalsIgnoreCase("")) {
-      try {
-        Map<String, Monomer> monomers = monomerStore.getMonomers(Monomer.NUCLIEC_ACID_POLYMER_TYPE);
-        Monomer m = monomers.get(baseSymbol);
-        return m;
-      } catch (Exception ex) {
-        LOG.info("Unable to get base monomer for "
-            + baseSymbol);
-        return null;
-      }
-    } else {
-      return null;
-    }
-
+  public synchronized Monomer getBaseMonomer(MonomerStore monomerStore) {
+    ComponentCache cache = getComponentCache(monomerStore);
+    cache.resolve();
+    return cache.baseMonomer;
   }
 
   /**
@@ -326,21 +336,10 @@ public class Nucleotide implements Serializable {
    * @param monomerStore - store in which sugar monomer is located
    * @return sugar monomer
    */
-  public Monomer getSugarMonomer(MonomerStore monomerStore) {
-    String sugarSymbol = getSugarSymbol();
-    if (sugarSymbol != null && !sugarSymbol.equalsIgnoreCase("")) {
-      try {
-        Map<String, Monomer> monomers = monomerStore.getMonomers(Monomer.NUCLIEC_ACID_POLYMER_TYPE);
-        Monomer m = monomers.get(sugarSymbol);
-        return m;
-      } catch (Exception ex) {
-        LOG.info("Unable to get sugar monomer for "
-            + sugarSymbol);
-        return null;
-      }
-    } else {
-      return null;
-    }
+  public synchronized Monomer getSugarMonomer(MonomerStore monomerStore) {
+    ComponentCache cache = getComponentCache(monomerStore);
+    cache.resolve();
+    return cache.sugarMonomer;
   }
 
   /**
@@ -477,6 +476,110 @@ public class Nucleotide implements Serializable {
     return baseSymbol;
   }
 
+  /**
+   * method to get the cache of this nucleotide; it is renewed if the notation
+   * or the position type were changed, its monomers are dropped if they were
+   * resolved in another monomer store or another version of it
+   *
+   * @param monomerStore store in which the monomers are located
+   * @return cache of this nucleotide
+   */
+  private ComponentCache getComponentCache(MonomerStore monomerStore) {
+    ComponentCache cache = componentCache;
+    if (cache == null || cache.notation != getNotation() || cache.positionType != getPositionType()) {
+      cache = new ComponentCache(getNotation(), getPositionType());
+      componentCache = cache;
+    }
+    int version = monomerStore == null ? 0 : monomerStore.getVersion();
+    if (cache.monomerStore != monomerStore || cache.storeVersion != version) {
+      cache.monomerStore = monomerStore;
+      cache.storeVersion = version;
+      cache.resolved = false;
+      cache.baseMonomer = null;
+      cache.sugarMonomer = null;
+      cache.phosphateMonomer = null;
+      cache.naturalAnalog = null;
+    }
+    return cache;
+  }
+
+  /**
+   * ComponentCache, holds the monomer IDs parsed from one notation and the
+   * monomers resolved from them in one version of a monomer store; guarded by
+   * the lock of the nucleotide
+   */
+  private final class ComponentCache {
+
+    private final String notation;
+
+    private final int positionType;
+
+    private boolean parsed;
+
+    /* parsed monomer IDs, an ID could be null */
+    private String analogBaseId;
+
+    private String baseId;
+
+    private String sugarId;
+
+    private String phosphateId;
+
+    private MonomerStore monomerStore;
+
+    private int storeVersion;
+
+    private boolean resolved;
+
+    /* resolved monomers, a monomer could be null */
+    private Monomer baseMonomer;
+
+    private Monomer sugarMonomer;
+
+    private Monomer phosphateMonomer;
+
+    private String naturalAnalog;
+
+    private ComponentCache(String notation, int positionType) {
+      this.notation = notation;
+      this.positionType = positionType;
+    }
+
+    private void parse() {
+      if (!parsed) {
+        analogBaseId = getAnalogBaseSymbol();
+        baseId = getBaseSymbol();
+        sugarId = getSugarSymbol();
+        phosphateId = getPhosphateSymbol();
+        parsed = true;
+      }
+    }
+
+    private void resolve() {
+      if (!resolved) {
+        parse();
+        baseMonomer = findMonomer(monomerStore, "base", baseId);
+        sugarMonomer = findMonomer(monomerStore, "sugar", sugarId);
+        phosphateMonomer = findMonomer(monomerStore, "phosphate", phosphateId);
+        resolved = true;
+      }
+    }
+  }
+
+  private static Monomer findMonomer(MonomerStore monomerStore, String component, String symbol) {
+    if (symbol != null && !symbol.equalsIgnoreCase("")) {
+      try {
+        return monomerStore.getMonomer(Monomer.NUCLIEC_ACID_POLYMER_TYPE, symbol);
+      } catch (Exception ex) {
+        LOG.info("Unable to get " + component + " monomer for "
+            + symbol);
+        return null;
+      }
+    } else {
+      return null;
+    }
+  }
+
   public static Nucleotide fromJSON(String json) {
     ObjectMapper mapper = new ObjectMapper();
 
@@ -29,6 +29,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
@@ -39,6 +40,7 @@ import java.util.logging.Logger;
 import org.helm.notation2.exception.NotationException;
 import org.helm.notation2.exception.NucleotideLoadingException;
 import org.helm.notation2.tools.NucleotideParser;
+import org.helm.notation2.tools.SymbolTrie;
 import org.helm.notation2.wsadapter.MonomerStoreConfiguration;
 import org.helm.notation2.wsadapter.NucleotideWSLoader;
 import org.jdom2.Document;
@@ -81,6 +83,9 @@ public class NucleotideFactory {
 
   private static Map<String, String> reverseNucleotideMap;
 
+  /* replaced as a whole with the templates, read without lock */
+  private static volatile SymbolTrie nucleotideSymbolTrie;
+
   private static SAXBuilder builder;
 
   private static Logger logger = Logger.getLogger(NucleotideFactory.class.toString());
@@ -93,6 +98,7 @@ public class NucleotideFactory {
       Map<String, Map<String, String>> newNucleotideTemplates) {
     nucleotideTemplates = newNucleotideTemplates;
     reverseNucleotideMap = getReverseNucleotideTemplateMap(NotationConstant.NOTATION_SOURCE);
+    nucleotideSymbolTrie = buildNucleotideSymbolTrie(NotationConstant.NOTATION_SOURCE);
   }
 
   private static void setupBuilder() {
@@ -189,6 +195,7 @@ public class NucleotideFactory {
 
     nucleotideTemplates = templates;
     reverseNucleotideMap = getReverseNucleotideTemplateMap(NotationConstant.NOTATION_SOURCE);
+    nucleotideSymbolTrie = buildNucleotideSymbolTrie(NotationConstant.NOTATION_SOURCE);
   }
 
   private static void initalizeNucleotideTemplatesFromExternalFile() throws NucleotideLoadingException {
@@ -224,6 +231,7 @@ public class NucleotideFactory {
 
     nucleotideTemplates = templates;
     reverseNucleotideMap = getReverseNucleotideTemplateMap(NotationConstant.NOTATION_SOURCE);
+    nucleotideSymbolTrie = buildNucleotideSymbolTrie(NotationConstant.NOTATION_SOURCE);
   }
 
   public static void initializeNucleotideTemplatesFromWebService()
@@ -237,6 +245,7 @@ public class NucleotideFactory {
               + e.getClass().getSimpleName(), e);
     }
     reverseNucleotideMap = getReverseNucleotideTemplateMap(NotationConstant.NOTATION_SOURCE);
+    nucleotideSymbolTrie = buildNucleotideSymbolTrie(NotationConstant.NOTATION_SOURCE);
   }
 
   /**
@@ -283,6 +292,30 @@ public class NucleotideFactory {
     return reverseNucleotideMap;
   }
 
+  /**
+   * trie of the nucleotide symbols, such as A or [dR](A)P
+   *
+   * @param notationSource
+   * @return trie of the nucleotide symbols
+   */
+  private static synchronized SymbolTrie buildNucleotideSymbolTrie(
+      String notationSource) {
+    Map<String, String> normalMap = nucleotideTemplates.get(notationSource);
+    if (normalMap == null) {
+      return new SymbolTrie(Collections.<String> emptySet());
+    }
+    return new SymbolTrie(normalMap.keySet());
+  }
+
+  /**
+   * the trie is rebuilt whenever the nucleotide templates are replaced
+   *
+   * @return trie of the nucleotide symbols for 'HELM Notation'
+   */
+  public SymbolTrie getNucleotideSymbolTrie() {
+    return nucleotideSymbolTrie;
+  }
+
   private static boolean validate(Map<String, Map<String, String>> templates)
       throws IOException, NotationException, JDOMException {
     Map<String, String> nucMap = templates.get(NotationConstant.NOTATION_SOURCE);
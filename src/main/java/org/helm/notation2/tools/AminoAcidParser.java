@@ -25,15 +25,18 @@ package org.helm.notation2.tools;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.WeakHashMap;
+import java.util.regex.Pattern;
 
 import org.helm.chemtoolkit.CTKException;
 import org.helm.notation2.Monomer;
 import org.helm.notation2.MonomerFactory;
+import org.helm.notation2.MonomerStore;
 import org.helm.notation2.exception.ChemistryException;
 import org.helm.notation2.exception.MonomerException;
 import org.helm.notation2.exception.MonomerLoadingException;
@@ -49,6 +52,12 @@ public class AminoAcidParser {
 
   public static final String[] SEQUENCE_DELIMETERS = {".", ":", ",", ";"};
 
+  private static final Pattern WHITE_SPACE_PATTERN = Pattern.compile("\\s");
+
+  /* trie of the peptide monomer IDs of each store, the stores are not kept alive by their tries */
+  private static final Map<MonomerStore, PeptideSymbols> peptideSymbols =
+      Collections.synchronizedMap(new WeakHashMap<MonomerStore, PeptideSymbols>());
+
   /**
    * This method converts peptide sequence into a List of amino acid
    *
@@ -71,34 +80,50 @@ public class AminoAcidParser {
 
     String cleanSeq = cleanup(peptideSequence);
 
-    Map<String, Monomer> peptideMap = MonomerFactory.getInstance().getMonomerDB().get(Monomer.PEPTIDE_POLYMER_TYPE);
-    Set<String> keySet = peptideMap.keySet();
+    SymbolTrie trie = getPeptideTrie(MonomerFactory.getInstance().getMonomerStore());
 
-    // walk the sequence
+    // walk the sequence, the longest monomer ID wins
     List<String> l = new ArrayList<String>();
     int pos = 0;
     while (pos < cleanSeq.length()) {
-      boolean found = false;
-      for (Iterator i = keySet.iterator(); i.hasNext();) {
-        String symbol = (String) i.next();
-
-        if (cleanSeq.startsWith(symbol, pos)) {
-          found = true;
-          l.add(symbol);
-          pos = pos + symbol.length();
-          break;
-        }
-      }
-      if (!found) {
+      String symbol = trie.match(cleanSeq, pos);
+      if (symbol == null) {
         throw new NotationException(
             "Sequence contains unknown amino acid starting at "
                 + cleanSeq.substring(pos));
       }
+      l.add(symbol);
+      pos = pos + symbol.length();
     }
 
     return l;
   }
 
+  /**
+   * method to get the trie of the peptide monomer IDs of the given store; one
+   * trie is kept per store and only rebuilt if the version of its store has
+   * changed
+   *
+   * @param monomerStore MonomerStore
+   * @return trie of the peptide monomer IDs
+   */
+  static SymbolTrie getPeptideTrie(MonomerStore monomerStore) {
+    /* read the version before the monomers, a concurrent change leads to a rebuild next time */
+    int version = monomerStore.getVersion();
+    PeptideSymbols symbols = peptideSymbols.get(monomerStore);
+    if (symbols == null || symbols.version != version) {
+      SymbolTrie trie;
+      synchronized (monomerStore) {
+        Map<String, Monomer> peptideMap = monomerStore.getMonomers(Monomer.PEPTIDE_POLYMER_TYPE);
+        Set<String> ids = (peptideMap == null) ? Collections.<String> emptySet() : peptideMap.keySet();
+        trie = new SymbolTrie(ids);
+      }
+      symbols = new PeptideSymbols(version, trie);
+      peptideSymbols.put(monomerStore, symbols);
+    }
+    return symbols.trie;
+  }
+
   /**
    * This method converts peptide sequence into a List of amino acid with
    * optional delimiter
@@ -151,7 +176,7 @@ public class AminoAcidParser {
    * @return cleaned sequence
    */
   public static String cleanup(String sequence) {
-    String result = sequence.replaceAll("\\s", ""); // remove all white
+    String result = WHITE_SPACE_PATTERN.matcher(sequence).replaceAll(""); // remove all white
     // space
     if (result.equals(result.toLowerCase())) {
       result = result.toUpperCase();
@@ -176,4 +201,20 @@ public class AminoAcidParser {
     }
     return sb.toString();
   }
+
+  /**
+   * trie of the peptide monomer IDs together with the version of the store it
+   * was built from
+   */
+  private static final class PeptideSymbols {
+
+    private final int version;
+
+    private final SymbolTrie trie;
+
+    private PeptideSymbols(int version, SymbolTrie trie) {
+      this.version = version;
+      this.trie = trie;
+    }
+  }
 }
@@ -25,12 +25,15 @@ package org.helm.notation2.tools;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.helm.chemtoolkit.CTKException;
 import org.helm.notation2.Monomer;
 import org.helm.notation2.MonomerFactory;
+import org.helm.notation2.MonomerStore;
 import org.helm.notation2.exception.ChemistryException;
 import org.helm.notation2.exception.HELM2HandledException;
 import org.helm.notation2.exception.MonomerException;
@@ -970,8 +973,9 @@ public final class ChangeObjects {
     if (oldID.startsWith("[") && oldID.endsWith("]")) {
       oldID = oldID.substring(1, oldID.length() - 1);
     }
-    if (MonomerFactory.getInstance().getMonomerStore().getMonomer(polymerType, oldID) == null) {
-      return MonomerFactory.getInstance().getSmilesMonomerDB().get(oldID).getAlternateId();
+    MonomerStore monomerStore = MonomerFactory.getInstance().getMonomerStore();
+    if (monomerStore.getMonomer(polymerType, oldID) == null) {
+      return monomerStore.getMonomer(oldID).getAlternateId();
     } else {
       return null;
     }
@@ -1001,4 +1005,59 @@ public final class ChangeObjects {
     }
   }
 
+  /**
+   * this method updates the base pairs of a hybridization after nucleotides of
+   * its polymers were replaced, e.g. by {@link #replaceMonomer}; if they
+   * changed, the previous base pairs are removed from the HELM2Notation and
+   * the new ones are added at the end
+   *
+   * @param helm2notation HELM2Notation containing the base pairs of the
+   *          hybridization
+   * @param hybridization Hybridization of two polymers of the HELM2Notation
+   * @return true if the base pairs changed
+   * @throws NotationException if a matched nucleotide has no base
+   * @throws RNAUtilsException if the nucleotides can not be read
+   * @throws HELM2HandledException if HELM2 features are involved
+   * @throws ChemistryException if the Chemistry Engine can not be initialized
+   */
+  public static boolean updateHybridization(HELM2Notation helm2notation, Hybridization hybridization) throws NotationException, RNAUtilsException,
+      HELM2HandledException, ChemistryException {
+    List<ConnectionNotation> previous = hybridization.getConnections();
+    if (!hybridization.update()) {
+      return false;
+    }
+    /* the base pairs can be equal copies, e.g. from RNAUtils.hybridize */
+    Set<String> removed = new HashSet<String>();
+    for (ConnectionNotation connection : previous) {
+      removed.add(getConnectionKey(connection, false));
+      removed.add(getConnectionKey(connection, true));
+    }
+    List<ConnectionNotation> connections = new ArrayList<ConnectionNotation>();
+    for (ConnectionNotation connection : helm2notation.getListOfConnections()) {
+      if (!removed.contains(getConnectionKey(connection, false))) {
+        connections.add(connection);
+      }
+    }
+    deleteAllConnections(helm2notation);
+    helm2notation.getListOfConnections().addAll(connections);
+    for (ConnectionNotation connection : hybridization.getConnections()) {
+      addConnection(connection, helm2notation.getListOfConnections().size(), helm2notation);
+    }
+    return true;
+  }
+
+  /**
+   * method to generate the key of a connection from its source, target and
+   * details
+   *
+   * @param connection ConnectionNotation
+   * @param reversed true to swap source and target
+   * @return key of the connection
+   */
+  private static String getConnectionKey(ConnectionNotation connection, boolean reversed) {
+    String source = connection.getSourceId().getId() + "," + connection.getSourceUnit() + ":" + connection.getrGroupSource();
+    String target = connection.getTargetId().getId() + "," + connection.getTargetUnit() + ":" + connection.getrGroupTarget();
+    return reversed ? target + "-" + source : source + "-" + target;
+  }
+
 }
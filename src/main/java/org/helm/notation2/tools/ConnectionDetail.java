@@ -0,0 +1,185 @@
+/**
+ * *****************************************************************************
+ * Copyright C 2015, The Pistoia Alliance
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *****************************************************************************
+ */
+package org.helm.notation2.tools;
+
+import org.helm.notation2.Attachment;
+import org.helm.notation2.parser.notation.connection.ConnectionNotation;
+
+/**
+ * ConnectionDetail class to scan the details of a connection, e.g.
+ * 1:R3-4:R3 or 9:pair-23:pair, without building and matching a string. An
+ * instance can be reused for several connections; it is not thread-safe.
+ */
+public final class ConnectionDetail {
+
+  private int sourceUnit;
+
+  private int targetUnit;
+
+  private int rGroupSource;
+
+  private int rGroupTarget;
+
+  private boolean pair;
+
+  private boolean specific;
+
+  /**
+   * method to scan the details of the given connection
+   *
+   * @param connection ConnectionNotation
+   * @return true if the connection is specific, false otherwise
+   */
+  public boolean scan(ConnectionNotation connection) {
+    return scan(connection.getSourceUnit(), connection.getrGroupSource(), connection.getTargetUnit(),
+        connection.getrGroupTarget());
+  }
+
+  /**
+   * method to scan the single parts of a connection detail; the connection is
+   * specific if both units are positions and both attachments are either
+   * R-groups with one digit or pair
+   *
+   * @param sourceUnit source unit of the connection
+   * @param rGroupSource source attachment of the connection
+   * @param targetUnit target unit of the connection
+   * @param rGroupTarget target attachment of the connection
+   * @return true if the connection is specific, false otherwise
+   */
+  public boolean scan(String sourceUnit, String rGroupSource, String targetUnit, String rGroupTarget) {
+    reset();
+    this.sourceUnit = scanPosition(sourceUnit);
+    this.targetUnit = scanPosition(targetUnit);
+    if (this.sourceUnit < 0 || this.targetUnit < 0 || rGroupSource == null || rGroupTarget == null) {
+      return false;
+    }
+
+    if (Attachment.PAIR_ATTACHMENT.equals(rGroupSource) && Attachment.PAIR_ATTACHMENT.equals(rGroupTarget)) {
+      pair = true;
+    } else {
+      this.rGroupSource = scanRGroup(rGroupSource);
+      this.rGroupTarget = scanRGroup(rGroupTarget);
+      if (this.rGroupSource < 0 || this.rGroupTarget < 0) {
+        return false;
+      }
+    }
+    specific = true;
+    return true;
+  }
+
+  /**
+   * method to reset the scanned information
+   */
+  public void reset() {
+    sourceUnit = -1;
+    targetUnit = -1;
+    rGroupSource = -1;
+    rGroupTarget = -1;
+    pair = false;
+    specific = false;
+  }
+
+  /**
+   * method to scan a monomer position
+   *
+   * @param unit monomer unit
+   * @return position of the monomer, -1 if the unit is not a position
+   */
+  private static int scanPosition(String unit) {
+    if (unit == null || unit.isEmpty()) {
+      return -1;
+    }
+    long value = 0;
+    for (int i = 0; i < unit.length(); i++) {
+      char c = unit.charAt(i);
+      if (c < '0' || c > '9') {
+        return -1;
+      }
+      value = value * 10 + (c - '0');
+      if (value > Integer.MAX_VALUE) {
+        return -1;
+      }
+    }
+    return (int) value;
+  }
+
+  /**
+   * method to scan a R-group of the form R#, where # is a single digit
+   *
+   * @param rGroup R-group
+   * @return number of the R-group, -1 if it is not a valid R-group
+   */
+  private static int scanRGroup(String rGroup) {
+    if (rGroup.length() != 2 || rGroup.charAt(0) != 'R') {
+      return -1;
+    }
+    char c = rGroup.charAt(1);
+    if (c < '0' || c > '9') {
+      return -1;
+    }
+    return c - '0';
+  }
+
+  /**
+   * @return true if the last scanned connection was specific
+   */
+  public boolean isSpecific() {
+    return specific;
+  }
+
+  /**
+   * @return true if the last scanned connection was a base pair connection
+   */
+  public boolean isPair() {
+    return pair;
+  }
+
+  /**
+   * @return position of the source monomer, -1 if it is not given
+   */
+  public int getSourceUnit() {
+    return sourceUnit;
+  }
+
+  /**
+   * @return position of the target monomer, -1 if it is not given
+   */
+  public int getTargetUnit() {
+    return targetUnit;
+  }
+
+  /**
+   * @return number of the source R-group, -1 for pair or unspecific connections
+   */
+  public int getRGroupSource() {
+    return rGroupSource;
+  }
+
+  /**
+   * @return number of the target R-group, -1 for pair or unspecific connections
+   */
+  public int getRGroupTarget() {
+    return rGroupTarget;
+  }
+}
@@ -50,6 +50,9 @@ public final class Converter {
 
 	  /** The Logger for this class */
 	  private static final Logger LOG = LoggerFactory.getLogger(Converter.class);
+
+	/** attachment point with atom mapping in the SMILES, e.g. [*:1] */
+	private static final Pattern ATOM_MAPPING_PATTERN = Pattern.compile("\\[\\*:(\\d+)\\]");
 	
 	private Converter(){
 		
@@ -92,17 +95,16 @@ public final class Converter {
 		}
 		
 		if(smiles !=  null){
-			Pattern pattern = Pattern.compile("\\[\\*:(\\d+)\\]");
-			Matcher matcher = pattern.matcher(smiles);
-			StringBuilder sb = new StringBuilder();
+			Matcher matcher = ATOM_MAPPING_PATTERN.matcher(smiles);
+			StringBuilder sb = new StringBuilder(smiles.length() + 16);
 			int start = 0;
 			while(matcher.find()){
-				sb.append(smiles.substring(start,matcher.start()) + "[" + map.get(Integer.parseInt(matcher.group(1))) +   ":" + matcher.group(1) + "]");
+				sb.append(smiles, start, matcher.start()).append('[').append(map.get(Integer.parseInt(matcher.group(1)))).append(':').append(matcher.group(1)).append(']');
 				start = matcher.end();
 			}
 			
 			if(start < smiles.length()){
-				sb.append(smiles.substring(start));
+				sb.append(smiles, start, smiles.length());
 			}
 			LOG.debug("NewSMILES: " + sb.toString());
 			return sb.toString();
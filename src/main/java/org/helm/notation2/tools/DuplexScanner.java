@@ -0,0 +1,264 @@
+/**
+ * *****************************************************************************
+ * Copyright C 2015, The Pistoia Alliance
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *****************************************************************************
+ */
+package org.helm.notation2.tools;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DuplexScanner class to find all maximal complementary regions between a
+ * guide strand and target strands. Both strands are natural analogue
+ * sequences written 5' to 3', the strands pair antiparallel: the first
+ * nucleotide of a guide region pairs with the last nucleotide of the target
+ * region. The pairing rules are those of {@link RNAUtils}, T is treated as U
+ * and X pairs with nothing; optionally G-U wobble pairs are accepted as well. The guide is compiled into
+ * a pairing table once, each target is scanned in time proportional to its
+ * length times the guide length, so a scanner for a short guide can be
+ * applied to many targets. The scanner is immutable and can be shared between
+ * threads.
+ */
+public final class DuplexScanner {
+
+  private final String guide;
+
+  private final int minLength;
+
+  private final boolean wobble;
+
+  /* pairs[targetCharacter][guidePosition], null if the character never pairs */
+  private final boolean[][] pairs = new boolean[128][];
+
+  /* wobblePairs[targetCharacter][guidePosition] */
+  private final boolean[][] wobblePairs = new boolean[128][];
+
+  /**
+   * Constructs a scanner for the given guide
+   *
+   * @param guide guide sequence, single letter, upper case
+   * @param minLength minimum number of consecutive pairs of a region
+   * @param wobble true to accept G-U pairs
+   */
+  public DuplexScanner(String guide, int minLength, boolean wobble) {
+    if (guide == null) {
+      throw new IllegalArgumentException("Guide sequence must be specified");
+    }
+    if (minLength < 1) {
+      throw new IllegalArgumentException("Minimum length must be at least 1: " + minLength);
+    }
+    this.guide = guide;
+    this.minLength = minLength;
+    this.wobble = wobble;
+
+    Map<String, String> complementMap = RNAUtils.getComplementMap();
+    for (String symbol : complementMap.keySet()) {
+      char target = symbol.charAt(0);
+      /* X is its own complement in the map, but an unknown base pairs with nothing */
+      if (target == 'X') {
+        continue;
+      }
+      boolean[] pairing = new boolean[guide.length()];
+      boolean[] wobbling = new boolean[guide.length()];
+      boolean any = false;
+      for (int i = 0; i < guide.length(); i++) {
+        String complement = complementMap.get(String.valueOf(guide.charAt(i)));
+        if (complement != null && normalize(complement.charAt(0)) == normalize(target)) {
+          pairing[i] = true;
+        } else if (wobble && isWobblePair(guide.charAt(i), target)) {
+          pairing[i] = true;
+          wobbling[i] = true;
+        }
+        any |= pairing[i];
+      }
+      if (any) {
+        pairs[target] = pairing;
+        wobblePairs[target] = wobbling;
+      }
+    }
+  }
+
+  /**
+   * method to get the guide sequence
+   *
+   * @return guide sequence
+   */
+  public String getGuide() {
+    return guide;
+  }
+
+  /**
+   * method to get the minimum length of a region
+   *
+   * @return minimum number of consecutive pairs
+   */
+  public int getMinLength() {
+    return minLength;
+  }
+
+  /**
+   * method to check if G-U pairs are accepted
+   *
+   * @return true if G-U pairs are accepted
+   */
+  public boolean isWobble() {
+    return wobble;
+  }
+
+  /**
+   * method to find all maximal complementary regions between the guide and
+   * the target; a region is maximal if it can not be extended at either end
+   *
+   * @param target target sequence, single letter, upper case
+   * @return regions with at least minLength pairs, ordered by their end in the
+   *         target
+   */
+  public List<DuplexRegion> scan(String target) {
+    List<DuplexRegion> regions = new ArrayList<DuplexRegion>();
+    int m = guide.length();
+    /*
+     * run[i]: number of consecutive pairs ending with guide position i and the
+     * current target position, the previous pair is (i + 1, j - 1)
+     */
+    int[] previous = new int[m + 1];
+    int[] current = new int[m + 1];
+    int[] previousWobbles = new int[m + 1];
+    int[] currentWobbles = new int[m + 1];
+
+    for (int j = 0; j <= target.length(); j++) {
+      boolean[] pairing = null;
+      boolean[] wobbling = null;
+      if (j < target.length()) {
+        char c = target.charAt(j);
+        if (c < pairs.length) {
+          pairing = pairs[c];
+          wobbling = wobblePairs[c];
+        }
+      }
+      for (int i = 0; i < m; i++) {
+        if (pairing != null && pairing[i]) {
+          current[i] = previous[i + 1] + 1;
+          currentWobbles[i] = previousWobbles[i + 1] + (wobbling[i] ? 1 : 0);
+        } else {
+          current[i] = 0;
+          currentWobbles[i] = 0;
+        }
+      }
+      /* report the runs of the previous position which were not extended */
+      for (int i = 0; i < m; i++) {
+        int length = previous[i];
+        if (length >= minLength && (i == 0 || current[i - 1] == 0)) {
+          regions.add(new DuplexRegion(i, j - length, length, previousWobbles[i]));
+        }
+      }
+      int[] swap = previous;
+      previous = current;
+      current = swap;
+      swap = previousWobbles;
+      previousWobbles = currentWobbles;
+      currentWobbles = swap;
+    }
+    return regions;
+  }
+
+  private static char normalize(char c) {
+    return (c == 'T') ? 'U' : c;
+  }
+
+  private static boolean isWobblePair(char guide, char target) {
+    char g = normalize(guide);
+    char t = normalize(target);
+    return (g == 'G' && t == 'U') || (g == 'U' && t == 'G');
+  }
+
+  /**
+   * DuplexRegion, one maximal complementary region; guide position
+   * guideStart + k pairs with target position targetStart + length - 1 - k
+   */
+  public static final class DuplexRegion {
+
+    private final int guideStart;
+
+    private final int targetStart;
+
+    private final int length;
+
+    private final int wobblePairs;
+
+    private DuplexRegion(int guideStart, int targetStart, int length, int wobblePairs) {
+      this.guideStart = guideStart;
+      this.targetStart = targetStart;
+      this.length = length;
+      this.wobblePairs = wobblePairs;
+    }
+
+    /**
+     * @return first position of the region in the guide, starting with 0
+     */
+    public int getGuideStart() {
+      return guideStart;
+    }
+
+    /**
+     * @return first position of the region in the target, starting with 0
+     */
+    public int getTargetStart() {
+      return targetStart;
+    }
+
+    /**
+     * @return number of pairs of the region
+     */
+    public int getLength() {
+      return length;
+    }
+
+    /**
+     * @return number of G-U pairs of the region
+     */
+    public int getWobblePairs() {
+      return wobblePairs;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof DuplexRegion)) {
+        return false;
+      }
+      DuplexRegion other = (DuplexRegion) obj;
+      return guideStart == other.guideStart && targetStart == other.targetStart && length == other.length
+          && wobblePairs == other.wobblePairs;
+    }
+
+    @Override
+    public int hashCode() {
+      return ((guideStart * 31 + targetStart) * 31 + length) * 31 + wobblePairs;
+    }
+
+    @Override
+    public String toString() {
+      return "guide " + guideStart + "-" + (guideStart + length - 1) + ", target " + targetStart + "-"
+          + (targetStart + length - 1) + ", wobble pairs " + wobblePairs;
+    }
+  }
+}
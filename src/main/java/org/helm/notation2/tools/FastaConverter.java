@@ -0,0 +1,580 @@
+/**
+ * *****************************************************************************
+ * Copyright C 2015, The Pistoia Alliance
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *****************************************************************************
+ */
+package org.helm.notation2.tools;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.helm.notation2.Monomer;
+import org.helm.notation2.MonomerFactory;
+import org.helm.notation2.MonomerStore;
+import org.helm.notation2.NotationConstant;
+import org.helm.notation2.Nucleotide;
+import org.helm.notation2.NucleotideFactory;
+import org.helm.notation2.exception.AnalogSequenceException;
+import org.helm.notation2.exception.ChemistryException;
+import org.helm.notation2.exception.FastaFormatException;
+import org.helm.notation2.parser.exceptionparser.NotationException;
+import org.helm.notation2.parser.notation.HELM2Notation;
+import org.helm.notation2.parser.notation.polymer.HELMEntity;
+import org.helm.notation2.parser.notation.polymer.MonomerNotation;
+import org.helm.notation2.parser.notation.polymer.MonomerNotationGroup;
+import org.helm.notation2.parser.notation.polymer.MonomerNotationGroupElement;
+import org.helm.notation2.parser.notation.polymer.MonomerNotationGroupMixture;
+import org.helm.notation2.parser.notation.polymer.MonomerNotationGroupOr;
+import org.helm.notation2.parser.notation.polymer.MonomerNotationList;
+import org.helm.notation2.parser.notation.polymer.MonomerNotationUnit;
+import org.helm.notation2.parser.notation.polymer.MonomerNotationUnitRNA;
+import org.helm.notation2.parser.notation.polymer.PeptideEntity;
+import org.helm.notation2.parser.notation.polymer.PolymerListElements;
+import org.helm.notation2.parser.notation.polymer.PolymerNotation;
+import org.helm.notation2.parser.notation.polymer.RNAEntity;
+import org.jdom2.JDOMException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * FastaConverter, class to convert FASTA sequences to polymers and polymers to
+ * their natural analogue sequence. The nucleotide tables are built once from
+ * the nucleotide templates, the peptide trie is shared with the
+ * AminoAcidParser and the monomers are read from the MonomerStore without
+ * copying it; one instance can be used by several threads at the same time.
+ * {@link #getInstance()} returns a new instance only if the monomers or the
+ * nucleotide templates have changed. The natural analogues of monomers and
+ * whole nucleotides are kept after their first conversion.
+ */
+public final class FastaConverter {
+
+  /** The Logger for this class */
+  private static final Logger LOG = LoggerFactory.getLogger(FastaConverter.class);
+
+  private static volatile FastaConverter instance;
+
+  private final MonomerStore monomerStore;
+
+  private final int storeVersion;
+
+  /** key is the nucleotide symbol, e.g. A, value is its notation, e.g. R(A)P */
+  private final Map<String, String> nucleotides;
+
+  /** key is the nucleotide notation, e.g. R(A)P, value is its symbol, e.g. A */
+  private final Map<String, String> transformNucleotides;
+
+  /** key is the peptide monomer id, also in brackets, value is its natural analogue; filled on demand */
+  private final ConcurrentMap<String, String> peptideAnalogs = new ConcurrentHashMap<String, String>();
+
+  /** key is the rna monomer id, also in brackets, value is its natural analogue, bases in parentheses; filled on demand */
+  private final ConcurrentMap<String, String> rnaAnalogs = new ConcurrentHashMap<String, String>();
+
+  /** key is a nucleotide, e.g. [dR](A)P, value is its natural analogue, e.g. R(A)P; filled on demand */
+  private final ConcurrentMap<String, String> nucleotideAnalogs = new ConcurrentHashMap<String, String>();
+
+  private final SymbolTrie nucleotideSymbols;
+
+  private final SymbolTrie aminoAcidSymbols;
+
+  /**
+   * Constructs a converter for the monomers of the given store and the given
+   * nucleotide templates
+   *
+   * @param monomerStore MonomerStore
+   * @param nucleotideFactory NucleotideFactory
+   */
+  private FastaConverter(MonomerStore monomerStore, NucleotideFactory nucleotideFactory) {
+    this.monomerStore = monomerStore;
+    /* read the version before the monomers, a concurrent change leads to a new instance next time */
+    this.storeVersion = monomerStore.getVersion();
+    this.nucleotideSymbols = nucleotideFactory.getNucleotideSymbolTrie();
+
+    Map<String, String> templates = nucleotideFactory.getNucleotideTemplates().get(NotationConstant.NOTATION_SOURCE);
+    Map<String, String> nucleotideMap = new HashMap<String, String>();
+    Map<String, String> transformMap = new HashMap<String, String>();
+    if (templates != null) {
+      for (Map.Entry<String, String> e : templates.entrySet()) {
+        nucleotideMap.put(e.getKey(), e.getValue());
+        transformMap.put(e.getValue(), e.getKey());
+      }
+    }
+    this.nucleotides = Collections.unmodifiableMap(nucleotideMap);
+    this.transformNucleotides = Collections.unmodifiableMap(transformMap);
+
+    this.aminoAcidSymbols = AminoAcidParser.getPeptideTrie(monomerStore);
+  }
+
+  /**
+   * method to get the converter for the current MonomerStore and nucleotide
+   * templates
+   *
+   * @return FastaConverter
+   * @throws FastaFormatException if the monomers or the nucleotides can not be
+   *           initialized
+   * @throws ChemistryException if the Chemistry Engine can not be initialized
+   */
+  public static FastaConverter getInstance() throws FastaFormatException, ChemistryException {
+    MonomerStore monomerStore;
+    NucleotideFactory nucleotideFactory;
+    try {
+      monomerStore = MonomerFactory.getInstance().getMonomerStore();
+      nucleotideFactory = NucleotideFactory.getInstance();
+    } catch (IOException e) {
+      e.printStackTrace();
+      LOG.error("Monomers or nucleotides can not be initialized");
+      throw new FastaFormatException(e.getMessage());
+    }
+    FastaConverter converter = instance;
+    if (converter == null || converter.monomerStore != monomerStore || converter.storeVersion != monomerStore.getVersion()
+        || converter.nucleotideSymbols != nucleotideFactory.getNucleotideSymbolTrie()) {
+      converter = new FastaConverter(monomerStore, nucleotideFactory);
+      instance = converter;
+    }
+    return converter;
+  }
+
+  /**
+   * method to get the MonomerStore the tables of this converter were built
+   * from
+   *
+   * @return MonomerStore
+   */
+  MonomerStore getMonomerStore() {
+    return monomerStore;
+  }
+
+  /**
+   * method to get the symbol of a nucleotide notation
+   *
+   * @param notation nucleotide notation, e.g. R(A)P
+   * @return nucleotide symbol, e.g. A, null if the notation is not a template
+   */
+  public String getNucleotideSymbol(String notation) {
+    return transformNucleotides.get(notation);
+  }
+
+  /**
+   * method to generate the polymer of one FASTA record
+   *
+   * @param record FastaRecord
+   * @param polymerType PEPTIDE or RNA
+   * @param number number of the polymer, e.g. 2 for PEPTIDE2
+   * @return PolymerNotation, annotated with the header of the record
+   * @throws FastaFormatException if the sequence is not correct
+   * @throws NotationException if the polymer can not be built
+   * @throws IOException
+   * @throws JDOMException
+   */
+  public PolymerNotation generatePolymer(FastaRecord record, String polymerType, int number)
+      throws FastaFormatException, NotationException, IOException, JDOMException {
+    PolymerNotation polymer = new PolymerNotation(polymerType + number);
+    String annotation = (record.getHeader() == null) ? "" : record.getHeader();
+    String sequence = record.getSequence();
+    if (Monomer.PEPTIDE_POLYMER_TYPE.equals(polymerType)) {
+      return new PolymerNotation(polymer.getPolymerID(), generateElementsOfPeptide(sequence, polymer.getPolymerID()),
+          annotation);
+    }
+    if (!(FastaFormat.isNormalDirection(sequence))) {
+      annotation += " 3'-5'";
+    }
+    return new PolymerNotation(polymer.getPolymerID(), generateElementsforRNA(sequence, polymer.getPolymerID()),
+        annotation);
+  }
+
+  /**
+   * method to fill a peptide polymer with its elements (MonomerNotationUnits)
+   *
+   * @param sequence peptide sequence
+   * @param entity HELMEntity
+   * @return PolymerListElements
+   * @throws FastaFormatException if the input sequence is not correct
+   * @throws NotationException
+   * @throws JDOMException
+   * @throws IOException
+   */
+  public PolymerListElements generateElementsOfPeptide(String sequence, HELMEntity entity)
+      throws FastaFormatException, IOException, JDOMException, NotationException {
+    if (null == sequence) {
+      throw new FastaFormatException("Peptide Sequence must be specified");
+    }
+    sequence = FastaFormat.cleanup(sequence);
+    PolymerListElements elements = new PolymerListElements(entity);
+    // walk the sequence, the longest monomer ID wins
+    int pos = 0;
+    while (pos < sequence.length()) {
+      String aa = aminoAcidSymbols.match(sequence, pos);
+      if (aa == null) {
+        throw new FastaFormatException("Sequence contains unknown amino acid starting at " + sequence.substring(pos));
+      }
+      pos = pos + aa.length();
+      if (aa.length() > 1) {
+        aa = "[" + aa + "]";
+      }
+
+      elements.addMonomerNotation(aa);
+    }
+    return elements;
+  }
+
+  /**
+   * method to fill a rna polymer with its elements (MonomerNotationUnits)
+   *
+   * @param sequence rna sequence
+   * @param entity HELMEntity
+   * @return PolymerListElements
+   * @throws FastaFormatException if the input sequence is not correct
+   * @throws NotationException
+   * @throws JDOMException
+   * @throws IOException
+   */
+  public PolymerListElements generateElementsforRNA(String sequence, HELMEntity entity)
+      throws FastaFormatException, IOException, JDOMException, NotationException {
+    PolymerListElements elements = new PolymerListElements(entity);
+    sequence = FastaFormat.cleanup(sequence);
+    sequence = prepareSequence(sequence);
+    List<Nucleotide> normalNucleotideList = getNormalList(sequence);
+    for (Nucleotide nucleotide : normalNucleotideList) {
+      elements.addMonomerNotation(nucleotide.getNotation());
+    }
+    /* remove the phosphat of the last group */
+    String id = elements.getCurrentMonomerNotation().getUnit();
+    try {
+      elements.changeMonomerNotation(new MonomerNotationUnitRNA(id.substring(0, id.length() - 1), "RNA"));
+    } catch (NotationException | IOException e) {
+      e.printStackTrace();
+      throw new FastaFormatException("PolymerListElements can not be initialized " + e.getMessage());
+    }
+
+    return elements;
+  }
+
+  /**
+   * @param sequence
+   * @return
+   * @throws NotationException
+   */
+  private List<Nucleotide> getNormalList(String sequence) throws NotationException {
+    if (null == sequence) {
+      throw new NotationException("Sequence must be specified");
+    }
+
+    // walk the sequence, the longest nucleotide symbol wins
+    List<Nucleotide> l = new ArrayList<Nucleotide>();
+    int pos = 0;
+    while (pos < sequence.length()) {
+      String symbol = nucleotideSymbols.match(sequence, pos);
+      if (symbol == null) {
+        throw new NotationException(
+            "Sequence contains unknown nucleotide starting at "
+                + sequence.substring(pos));
+      }
+      l.add(new Nucleotide(symbol, nucleotides.get(symbol)));
+      pos = pos + symbol.length();
+    }
+
+    return l;
+  }
+
+  private static String prepareSequence(String sequence) {
+    String result = sequence;
+    result = result.replace("-", "");
+    result = result.replace("5'", "");
+    result = result.replace("3'", "");
+
+    if (!(FastaFormat.isNormalDirection(sequence))) {
+      result = new StringBuffer(result).reverse().toString();
+    }
+
+    return result;
+  }
+
+  /**
+   * method to convert all Peptides and RNAs into the natural analogue sequence
+   * and generates HELM2Notation
+   *
+   * @param helm2Notation
+   * @return HELM2Notation with the natural analogue sequences
+   * @throws AnalogSequenceException if the natural analogue sequence can not be
+   *           produced
+   */
+  public HELM2Notation convertIntoAnalogSequence(HELM2Notation helm2Notation) throws AnalogSequenceException {
+    /* transform/convert only the peptides + rnas into the analog sequence */
+    List<PolymerNotation> polymers = helm2Notation.getListOfPolymers();
+    for (int i = 0; i < helm2Notation.getListOfPolymers().size(); i++) {
+      if (helm2Notation.getListOfPolymers().get(i).getPolymerID() instanceof RNAEntity) {
+        helm2Notation.getListOfPolymers().set(i, convertRNAIntoAnalogSequence(polymers.get(i)));
+      }
+      if (helm2Notation.getListOfPolymers().get(i).getPolymerID() instanceof PeptideEntity) {
+        helm2Notation.getListOfPolymers().set(i, convertPeptideIntoAnalogSequence(polymers.get(i)));
+      }
+    }
+
+    return helm2Notation;
+  }
+
+  /**
+   * method to convert the sequence of a PolymerNotation into the natural
+   * analogue sequence
+   *
+   * @param polymer PolymerNotation
+   * @return PolymerNotation with the natural analogue sequence
+   * @throws AnalogSequenceException if the natural analog sequence can not be
+   *           produced
+   */
+  private PolymerNotation convertPeptideIntoAnalogSequence(PolymerNotation polymer) throws AnalogSequenceException {
+
+    for (int i = 0; i < polymer.getPolymerElements().getListOfElements().size(); i++) {
+      /* Change current MonomerNotation */
+      polymer.getPolymerElements().getListOfElements().set(i, generateMonomerNotationPeptide(polymer.getPolymerElements().getListOfElements().get(i)));
+    }
+
+    return polymer;
+  }
+
+  /**
+   * method to change the monomerNotation by setting the natural analogue
+   * peptide sequence
+   *
+   * @param current MonomerNotation
+   * @return MonomerNotation with the peptide natural analogue sequence
+   * @throws AnalogSequenceException
+   */
+  private MonomerNotation generateMonomerNotationPeptide(MonomerNotation current) throws AnalogSequenceException {
+    MonomerNotation change = null;
+    try {
+      /* simple MonomerNotationUnit */
+      if (current instanceof MonomerNotationUnit) {
+
+        String id = getPeptideAnalog(current.getUnit());
+        change = new MonomerNotationUnit(id, current.getType());
+        change.setCount(current.getCount());
+        if (current.getAnnotation() != null) {
+          change.setAnnotation(current.getAnnotation());
+        }
+      } else if (current instanceof MonomerNotationGroup) {
+        if (current instanceof MonomerNotationGroupOr) {
+          StringBuilder sb = new StringBuilder();
+          String id = current.getUnit();
+          for (String element : id.split(",")) {
+            sb.append(getPeptideAnalog(element) + ",");
+          }
+          sb.setLength(sb.length() - 1);
+          change = new MonomerNotationList(sb.toString(), current.getType());
+
+        } else if (current instanceof MonomerNotationGroupMixture) {
+          StringBuilder sb = new StringBuilder();
+          String id = current.getUnit();
+          for (String element : id.split("\\+")) {
+            sb.append(getPeptideAnalog(element) + "+");
+          }
+          sb.setLength(sb.length() - 1);
+          change = new MonomerNotationList(sb.toString(), current.getType());
+
+        } else {
+          /* throw new exception */
+          throw new AnalogSequenceException("MonomerNotationGroup is unknown" + current.getClass());
+        }
+
+      } else if (current instanceof MonomerNotationList) {
+        StringBuilder sb = new StringBuilder();
+        String id = current.getUnit();
+        for (String element : id.split("\\.")) {
+          sb.append(getPeptideAnalog(element) + ".");
+        }
+        sb.setLength(sb.length() - 1);
+        change = new MonomerNotationList(sb.toString(), current.getType());
+
+      } else {
+        throw new AnalogSequenceException("MonomerNotation is unknown" + current.getClass());
+      }
+
+      change.setCount(current.getCount());
+      if (current.getAnnotation() != null) {
+        change.setAnnotation(current.getAnnotation());
+      }
+
+      return change;
+    } catch (NotationException | IOException | JDOMException e) {
+      e.printStackTrace();
+      throw new AnalogSequenceException("MonomerNotation can not be converted to its natural analogue sequence " + e.getMessage());
+
+    }
+
+  }
+
+  /**
+   * method to change the MonomerNotation in its analogue
+   *
+   * @param current MonomerNotation
+   * @return its analogue MonomerNotation
+   * @throws AnalogSequenceException
+   */
+  private MonomerNotation generateMonomerNotationRNA(MonomerNotation current) throws AnalogSequenceException {
+    MonomerNotation change = null;
+    try {
+      /* simple MonomerNotationUnit */
+
+      if (current instanceof MonomerNotationUnit) {
+        change = new MonomerNotationUnit(changeIdForRNA(current), current.getType());
+      } else if (current instanceof MonomerNotationGroup) {
+        if (current instanceof MonomerNotationGroupOr) {
+          StringBuilder sb = new StringBuilder();
+          for (MonomerNotationGroupElement element : ((MonomerNotationGroup) current).getListOfElements()) {
+
+            sb.append(changeIdForRNA(element.getMonomerNotation()) + ",");
+          }
+          sb.setLength(sb.length() - 1);
+          change = new MonomerNotationGroupOr(sb.toString(), current.getType());
+
+        } else if (current instanceof MonomerNotationGroupMixture) {
+          StringBuilder sb = new StringBuilder();
+          for (MonomerNotationGroupElement element : ((MonomerNotationGroup) current).getListOfElements()) {
+            sb.append(changeIdForRNA(element.getMonomerNotation()) + "+");
+          }
+          sb.setLength(sb.length() - 1);
+          change = new MonomerNotationGroupMixture(sb.toString(), current.getType());
+
+        } else {
+          /* throw new exception */
+          throw new AnalogSequenceException("Unknown MonomerNotationGroup " + current.getClass());
+        }
+
+      } else if (current instanceof MonomerNotationList) {
+        StringBuilder sb = new StringBuilder();
+        for (MonomerNotation element : ((MonomerNotationList) current).getListofMonomerUnits()) {
+          sb.append(changeIdForRNA(element) + ".");
+        }
+        sb.setLength(sb.length() - 1);
+        change = new MonomerNotationList(sb.toString(), current.getType());
+
+      } else {
+        /* throw new exception */
+        throw new AnalogSequenceException("Unknown MonomerNotation " + current.getClass());
+      }
+
+      change.setCount(current.getCount());
+      if (current.getAnnotation() != null) {
+        change.setAnnotation(current.getAnnotation());
+      }
+
+      return change;
+
+    } catch (JDOMException | NotationException | IOException e) {
+      e.printStackTrace();
+      throw new AnalogSequenceException("Notation object can not be built");
+    }
+
+  }
+
+  /**
+   * method to generate the sequence of a rna PolymerNotation into its natural
+   * analogue sequence
+   *
+   * @param polymer PolymerNotation
+   * @return PolymerNotation with its natural analogue sequence
+   * @throws AnalogSequenceException if the natural analogues MonomerNotations
+   *           can not be built
+   */
+  private PolymerNotation convertRNAIntoAnalogSequence(PolymerNotation polymer) throws AnalogSequenceException {
+
+    /* change only if it is possible */
+    for (int i = 0; i < polymer.getPolymerElements().getListOfElements().size(); i++) {
+      polymer.getPolymerElements().getListOfElements().set(i, generateMonomerNotationRNA(polymer.getPolymerElements().getListOfElements().get(i)));
+    }
+
+    return polymer;
+  }
+
+  /**
+   * method to get the natural analogue sequence of a MonomerNotation
+   *
+   * @param monomerNotation MonomerNotation
+   * @return natural analogue sequence of MonomerNotation
+   */
+  private String changeIdForRNA(MonomerNotation monomerNotation) {
+    if (monomerNotation instanceof MonomerNotationUnitRNA) {
+      String unit = monomerNotation.getUnit();
+      String analog = nucleotideAnalogs.get(unit);
+      if (analog == null) {
+        StringBuilder changeid = new StringBuilder();
+        for (MonomerNotation not : ((MonomerNotationUnitRNA) monomerNotation).getContents()) {
+          changeid.append(getRNAAnalog(not.getUnit()));
+        }
+        analog = changeid.toString();
+        nucleotideAnalogs.putIfAbsent(unit, analog);
+      }
+      return analog;
+    } else {
+      return getRNAAnalog(monomerNotation.getUnit());
+    }
+  }
+
+  /**
+   * method to get the natural analogue of a peptide monomer
+   *
+   * @param id monomer id, with or without brackets
+   * @return natural analogue
+   */
+  private String getPeptideAnalog(String id) {
+    String analog = peptideAnalogs.get(id);
+    if (analog == null) {
+      /* the store ignores the case of the id */
+      analog = monomerStore.getMonomer(Monomer.PEPTIDE_POLYMER_TYPE, id.replace("[", "").replace("]", "")).getNaturalAnalog();
+      if (analog != null) {
+        peptideAnalogs.putIfAbsent(id, analog);
+      }
+    }
+    return analog;
+  }
+
+  /**
+   * method to get the natural analogue of a rna monomer, a base is put in
+   * parentheses
+   *
+   * @param id monomer id, with or without brackets
+   * @return natural analogue
+   */
+  private String getRNAAnalog(String id) {
+    String analog = rnaAnalogs.get(id);
+    if (analog == null) {
+      /* the store ignores the case of the id */
+      analog = toRNAAnalog(monomerStore.getMonomer(Monomer.NUCLIEC_ACID_POLYMER_TYPE, id.replace("[", "").replace("]", "")));
+      if (analog != null) {
+        rnaAnalogs.putIfAbsent(id, analog);
+      }
+    }
+    return analog;
+  }
+
+  private static String toRNAAnalog(Monomer monomer) {
+    String id = monomer.getNaturalAnalog();
+    if (monomer.getMonomerType().equals(Monomer.BRANCH_MOMONER_TYPE)) {
+      id = "(" + id + ")";
+    }
+    return id;
+  }
+}
@@ -0,0 +1,284 @@
+/**
+ * *****************************************************************************
+ * Copyright C 2015, The Pistoia Alliance
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *****************************************************************************
+ */
+package org.helm.notation2.tools;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.helm.notation2.MoleculeProperty;
+import org.helm.notation2.MonomerFactory;
+import org.helm.notation2.MonomerStore;
+import org.helm.notation2.calculation.MoleculePropertyCalculator;
+import org.helm.notation2.exception.ChemistryException;
+import org.helm.notation2.exception.FastaFormatException;
+import org.helm.notation2.parser.notation.HELM2Notation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * FastaPipeline, class to convert the records of a FASTA file on several
+ * threads. The records are read on the calling thread and converted,
+ * optionally validated and optionally measured on the given executor; at most
+ * maxPending records are in progress at the same time, so reading waits for
+ * slow workers. The results are handed to the ResultHandler on the calling
+ * thread in the order of the records. A record that can not be converted does
+ * not stop the pipeline, its result contains the error.
+ */
+public final class FastaPipeline {
+
+  /** The Logger for this class */
+  private static final Logger LOG = LoggerFactory.getLogger(FastaPipeline.class);
+
+  private final ExecutorService executor;
+
+  private final int maxPending;
+
+  private boolean validate;
+
+  private boolean computeProperties;
+
+  /**
+   * Constructs a pipeline
+   *
+   * @param executor ExecutorService for the conversion of the records
+   * @param maxPending maximum number of records in progress, e.g. twice the
+   *          number of threads of the executor
+   */
+  public FastaPipeline(ExecutorService executor, int maxPending) {
+    if (executor == null) {
+      throw new IllegalArgumentException("Executor must be specified");
+    }
+    if (maxPending < 1) {
+      throw new IllegalArgumentException("At least one record has to be in progress: " + maxPending);
+    }
+    this.executor = executor;
+    this.maxPending = maxPending;
+  }
+
+  /**
+   * method to validate each converted record, default is false
+   *
+   * @param validate true to validate the records
+   */
+  public void setValidate(boolean validate) {
+    this.validate = validate;
+  }
+
+  /**
+   * method to calculate the molecule properties of each converted record,
+   * default is false
+   *
+   * @param computeProperties true to calculate the properties
+   */
+  public void setComputeProperties(boolean computeProperties) {
+    this.computeProperties = computeProperties;
+  }
+
+  /**
+   * method to convert all remaining records of the reader
+   *
+   * @param reader FastaReader
+   * @param handler receives the results in the order of the records
+   * @return number of records
+   * @throws IOException if the input can not be read or the handler fails
+   * @throws FastaFormatException if the converter can not be initialized
+   * @throws ChemistryException if the Chemistry Engine can not be initialized
+   * @throws InterruptedException if the calling thread was interrupted
+   */
+  public int run(FastaReader reader, ResultHandler handler) throws IOException, FastaFormatException,
+      ChemistryException, InterruptedException {
+    /*
+     * the converter and the MonomerStore are taken from the calling thread, the
+     * tasks use the same ones
+     */
+    final FastaConverter converter = FastaConverter.getInstance();
+    final MonomerStore monomerStore = MonomerFactory.getInstance().getMonomerStore();
+    final String polymerType = reader.getPolymerType();
+
+    Deque<Future<Result>> pending = new ArrayDeque<Future<Result>>();
+    int counter = 0;
+    try {
+      FastaRecord record;
+      while ((record = reader.readRecord()) != null) {
+        counter++;
+        final FastaRecord current = record;
+        final int number = counter;
+        pending.addLast(executor.submit(new Callable<Result>() {
+          @Override
+          public Result call() {
+            MonomerFactory.bindMonomerStore(monomerStore);
+            try {
+              return process(converter, current, polymerType, number);
+            } finally {
+              MonomerFactory.unbindMonomerStore();
+            }
+          }
+        }));
+        if (pending.size() >= maxPending) {
+          handler.handle(take(pending));
+        }
+      }
+      while (!pending.isEmpty()) {
+        handler.handle(take(pending));
+      }
+    } finally {
+      /* only left if the pipeline failed */
+      for (Future<Result> result : pending) {
+        result.cancel(true);
+      }
+    }
+    return counter;
+  }
+
+  private static Result take(Deque<Future<Result>> pending) throws InterruptedException {
+    Future<Result> next = pending.peekFirst();
+    try {
+      Result result = next.get();
+      pending.removeFirst();
+      return result;
+    } catch (ExecutionException e) {
+      /* process catches all checked exceptions */
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw (Error) cause;
+    }
+  }
+
+  /**
+   * method to convert one record, all stages are run on a worker thread
+   *
+   * @param converter FastaConverter
+   * @param record FastaRecord
+   * @param polymerType PEPTIDE or RNA
+   * @param number number of the record
+   * @return Result, containing the error if one stage failed
+   */
+  private Result process(FastaConverter converter, FastaRecord record, String polymerType, int number) {
+    HELM2Notation helm2notation = null;
+    MoleculeProperty properties = null;
+    try {
+      HELM2Notation converted = new HELM2Notation();
+      converted.addPolymer(converter.generatePolymer(record, polymerType, number));
+      helm2notation = converted;
+      if (validate) {
+        Validation.validateNotationObjects(helm2notation);
+      }
+      if (computeProperties) {
+        properties = MoleculePropertyCalculator.getMoleculeProperties(helm2notation);
+      }
+      return new Result(number, record, helm2notation, properties, null);
+    } catch (Exception e) {
+      LOG.info("FASTA record " + number + " can not be converted: " + e.getMessage());
+      return new Result(number, record, helm2notation, properties, e);
+    }
+  }
+
+  /**
+   * ResultHandler, receives the results of the pipeline on the calling thread
+   */
+  public interface ResultHandler {
+
+    /**
+     * method to handle the result of one record
+     *
+     * @param result Result
+     * @throws IOException if the result can not be stored
+     */
+    void handle(Result result) throws IOException;
+  }
+
+  /**
+   * Result of one FASTA record
+   */
+  public static final class Result {
+
+    private final int number;
+
+    private final FastaRecord record;
+
+    private final HELM2Notation helm2notation;
+
+    private final MoleculeProperty properties;
+
+    private final Exception error;
+
+    private Result(int number, FastaRecord record, HELM2Notation helm2notation, MoleculeProperty properties,
+        Exception error) {
+      this.number = number;
+      this.record = record;
+      this.helm2notation = helm2notation;
+      this.properties = properties;
+      this.error = error;
+    }
+
+    /**
+     * @return number of the record, starting with 1
+     */
+    public int getNumber() {
+      return number;
+    }
+
+    /**
+     * @return FastaRecord
+     */
+    public FastaRecord getRecord() {
+      return record;
+    }
+
+    /**
+     * @return HELM2Notation of the record, null if the conversion failed
+     */
+    public HELM2Notation getHELM2Notation() {
+      return helm2notation;
+    }
+
+    /**
+     * @return molecule properties, null if they were not calculated
+     */
+    public MoleculeProperty getProperties() {
+      return properties;
+    }
+
+    /**
+     * @return error of the first failed stage, null if all stages succeeded
+     */
+    public Exception getError() {
+      return error;
+    }
+
+    /**
+     * @return true if all stages succeeded
+     */
+    public boolean isSuccessful() {
+      return error == null;
+    }
+  }
+}
@@ -0,0 +1,222 @@
+/**
+ * *****************************************************************************
+ * Copyright C 2015, The Pistoia Alliance
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *****************************************************************************
+ */
+package org.helm.notation2.tools;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.helm.notation2.Monomer;
+import org.helm.notation2.exception.ChemistryException;
+import org.helm.notation2.exception.FastaFormatException;
+import org.helm.notation2.parser.exceptionparser.NotationException;
+import org.helm.notation2.parser.notation.HELM2Notation;
+import org.helm.notation2.parser.notation.polymer.PolymerNotation;
+import org.jdom2.JDOMException;
+
+/**
+ * FastaReader, class to read a FASTA file record by record. Only the current
+ * record is kept in memory, so the first polymer is available before the rest
+ * of the file was read. Like
+ * {@link FastaFormat#generatePeptidePolymersFromFASTAFormatHELM1(String)} it
+ * produces only polymers in the HELM1 standard, the polymers are numbered in
+ * the order of the records, e.g. PEPTIDE1, PEPTIDE2. An instance is not
+ * thread-safe.
+ */
+public final class FastaReader implements Closeable, Iterable<HELM2Notation> {
+
+  private final BufferedReader reader;
+
+  private final String polymerType;
+
+  /** header line of the next record, already read */
+  private String nextHeader;
+
+  private boolean finished;
+
+  private int counter;
+
+  /**
+   * Constructs a reader for the given FASTA input
+   *
+   * @param reader FASTA input
+   * @param polymerType polymer type of the records, PEPTIDE or RNA
+   * @throws FastaFormatException if the polymer type is not supported
+   */
+  public FastaReader(Reader reader, String polymerType) throws FastaFormatException {
+    if (!(Monomer.PEPTIDE_POLYMER_TYPE.equals(polymerType) || Monomer.NUCLIEC_ACID_POLYMER_TYPE.equals(polymerType))) {
+      throw new FastaFormatException("FASTA can only be read for PEPTIDE or RNA, not for " + polymerType);
+    }
+    this.reader = (reader instanceof BufferedReader) ? (BufferedReader) reader : new BufferedReader(reader);
+    this.polymerType = polymerType;
+  }
+
+  /**
+   * Constructs a reader for the given FASTA file in UTF-8
+   *
+   * @param path FASTA file
+   * @param polymerType polymer type of the records, PEPTIDE or RNA
+   * @throws IOException if the file can not be opened
+   * @throws FastaFormatException if the polymer type is not supported
+   */
+  public FastaReader(Path path, String polymerType) throws IOException, FastaFormatException {
+    this(Files.newBufferedReader(path, StandardCharsets.UTF_8), polymerType);
+  }
+
+  /**
+   * method to get the polymer type of the records
+   *
+   * @return PEPTIDE or RNA
+   */
+  public String getPolymerType() {
+    return polymerType;
+  }
+
+  /**
+   * method to read the next record; lines before the first header line belong
+   * to the first record
+   *
+   * @return next record, null at the end of the input
+   * @throws IOException if the input can not be read
+   */
+  public FastaRecord readRecord() throws IOException {
+    if (finished) {
+      return null;
+    }
+    String header = nextHeader;
+    nextHeader = null;
+    StringBuilder sequence = new StringBuilder();
+    String line;
+    while ((line = reader.readLine()) != null) {
+      if (line.startsWith(">")) {
+        if (header == null) {
+          header = line.substring(1);
+        } else {
+          nextHeader = line.substring(1);
+          return new FastaRecord(header, sequence.toString());
+        }
+      } else {
+        sequence.append(FastaFormat.cleanup(line));
+      }
+    }
+    finished = true;
+    if (header == null && sequence.length() == 0) {
+      return null;
+    }
+    return new FastaRecord(header, sequence.toString());
+  }
+
+  /**
+   * method to read the next record and to generate its polymer
+   *
+   * @return polymer of the next record, null at the end of the input
+   * @throws IOException if the input can not be read
+   * @throws FastaFormatException if the sequence is not correct
+   * @throws NotationException if the polymer can not be built
+   * @throws JDOMException
+   * @throws ChemistryException if the Chemistry Engine can not be initialized
+   */
+  public PolymerNotation readPolymer() throws IOException, FastaFormatException, NotationException, JDOMException,
+      ChemistryException {
+    FastaRecord record = readRecord();
+    if (record == null) {
+      return null;
+    }
+    counter++;
+    return FastaConverter.getInstance().generatePolymer(record, polymerType, counter);
+  }
+
+  /**
+   * method to read the next record and to generate a HELM2Notation containing
+   * only its polymer
+   *
+   * @return HELM2Notation of the next record, null at the end of the input
+   * @throws IOException if the input can not be read
+   * @throws FastaFormatException if the sequence is not correct
+   * @throws NotationException if the polymer can not be built
+   * @throws JDOMException
+   * @throws ChemistryException if the Chemistry Engine can not be initialized
+   */
+  public HELM2Notation readNotation() throws IOException, FastaFormatException, NotationException, JDOMException,
+      ChemistryException {
+    PolymerNotation polymer = readPolymer();
+    if (polymer == null) {
+      return null;
+    }
+    HELM2Notation helm2notation = new HELM2Notation();
+    helm2notation.addPolymer(polymer);
+    return helm2notation;
+  }
+
+  /**
+   * returns an iterator over the HELM2Notations of the remaining records;
+   * errors are thrown as IllegalStateException with the original exception
+   * as cause
+   */
+  @Override
+  public Iterator<HELM2Notation> iterator() {
+    return new Iterator<HELM2Notation>() {
+
+      private HELM2Notation next;
+
+      @Override
+      public boolean hasNext() {
+        if (next == null) {
+          try {
+            next = readNotation();
+          } catch (IOException | FastaFormatException | NotationException | JDOMException | ChemistryException e) {
+            throw new IllegalStateException("FASTA record " + counter + " can not be read: " + e.getMessage(), e);
+          }
+        }
+        return next != null;
+      }
+
+      @Override
+      public HELM2Notation next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        HELM2Notation current = next;
+        next = null;
+        return current;
+      }
+
+      @Override
+      public void remove() {
+        throw new UnsupportedOperationException();
+      }
+    };
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+}
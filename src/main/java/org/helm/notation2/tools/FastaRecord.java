@@ -0,0 +1,69 @@
+/**
+ * *****************************************************************************
+ * Copyright C 2015, The Pistoia Alliance
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *****************************************************************************
+ */
+package org.helm.notation2.tools;
+
+/**
+ * FastaRecord, one record of a FASTA file: the header line without the leading
+ * '>' and the sequence lines joined without white space
+ */
+public final class FastaRecord {
+
+  private final String header;
+
+  private final String sequence;
+
+  /**
+   * Constructs a record
+   *
+   * @param header header of the record, null if the record has no header line
+   * @param sequence sequence of the record
+   */
+  public FastaRecord(String header, String sequence) {
+    this.header = header;
+    this.sequence = sequence;
+  }
+
+  /**
+   * method to get the header of the record
+   *
+   * @return header without the leading '>', null if there was no header line
+   */
+  public String getHeader() {
+    return header;
+  }
+
+  /**
+   * method to get the sequence of the record
+   *
+   * @return sequence
+   */
+  public String getSequence() {
+    return sequence;
+  }
+
+  @Override
+  public String toString() {
+    return ">" + (header == null ? "" : header) + "\n" + sequence;
+  }
+}
@@ -0,0 +1,266 @@
+/**
+ * *****************************************************************************
+ * Copyright C 2015, The Pistoia Alliance
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *****************************************************************************
+ */
+package org.helm.notation2.tools;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.helm.chemtoolkit.CTKException;
+import org.helm.notation2.Monomer;
+import org.helm.notation2.exception.ChemistryException;
+import org.helm.notation2.exception.FastaFormatException;
+import org.helm.notation2.exception.HELM2HandledException;
+import org.helm.notation2.exception.MonomerException;
+import org.helm.notation2.exception.NotationException;
+import org.helm.notation2.parser.notation.HELM2Notation;
+import org.helm.notation2.parser.notation.polymer.MonomerNotation;
+import org.helm.notation2.parser.notation.polymer.MonomerNotationGroup;
+import org.helm.notation2.parser.notation.polymer.MonomerNotationList;
+import org.helm.notation2.parser.notation.polymer.PeptideEntity;
+import org.helm.notation2.parser.notation.polymer.PolymerNotation;
+import org.helm.notation2.parser.notation.polymer.RNAEntity;
+import org.jdom2.JDOMException;
+
+/**
+ * FastaWriter, class to write peptide and rna polymers as FASTA records
+ * directly to an Appendable, e.g. a Writer. The natural analogue of every
+ * monomer (peptide) or nucleotide (rna) is looked up only once per writer, so
+ * one writer should be used for a whole export. An instance is not
+ * thread-safe.
+ */
+public final class FastaWriter {
+
+  /** line width of the sequence lines used by most FASTA tools */
+  public static final int DEFAULT_LINE_WIDTH = 60;
+
+  private final Appendable out;
+
+  private final int lineWidth;
+
+  /** key is the monomer id, value is its natural analogue */
+  private final Map<String, String> peptideAnalogs = new HashMap<String, String>();
+
+  /** key is the nucleotide, e.g. R(A)P, value is the natural analogue of its base */
+  private final Map<String, String> rnaAnalogs = new HashMap<String, String>();
+
+  private int column;
+
+  /**
+   * Constructs a writer wrapping the sequence lines after
+   * {@link #DEFAULT_LINE_WIDTH} characters
+   *
+   * @param out output
+   */
+  public FastaWriter(Appendable out) {
+    this(out, DEFAULT_LINE_WIDTH);
+  }
+
+  /**
+   * Constructs a writer
+   *
+   * @param out output
+   * @param lineWidth maximum length of a sequence line, 0 to write the
+   *          sequence of a record into one line
+   */
+  public FastaWriter(Appendable out, int lineWidth) {
+    if (lineWidth < 0) {
+      throw new IllegalArgumentException("Line width must not be negative: " + lineWidth);
+    }
+    this.out = out;
+    this.lineWidth = lineWidth;
+  }
+
+  /**
+   * method to write all peptides and then all rnas of the HELM2Notation, other
+   * polymers are skipped
+   *
+   * @param helm2notation HELM2Notation
+   * @throws IOException if the output can not be written
+   * @throws FastaFormatException if a polymer can not be transformed to FASTA
+   * @throws ChemistryException if the Chemistry Engine can not be initialized
+   */
+  public void write(HELM2Notation helm2notation) throws IOException, FastaFormatException, ChemistryException {
+    List<PolymerNotation> polymers = helm2notation.getListOfPolymers();
+    for (PolymerNotation polymer : polymers) {
+      if (polymer.getPolymerID() instanceof PeptideEntity) {
+        write(polymer);
+      }
+    }
+    for (PolymerNotation polymer : polymers) {
+      if (polymer.getPolymerID() instanceof RNAEntity) {
+        write(polymer);
+      }
+    }
+  }
+
+  /**
+   * method to write the polymers
+   *
+   * @param polymers peptide or rna PolymerNotations
+   * @throws IOException if the output can not be written
+   * @throws FastaFormatException if a polymer can not be transformed to FASTA
+   * @throws ChemistryException if the Chemistry Engine can not be initialized
+   */
+  public void writeAll(Iterable<PolymerNotation> polymers) throws IOException, FastaFormatException, ChemistryException {
+    for (PolymerNotation polymer : polymers) {
+      write(polymer);
+    }
+  }
+
+  /**
+   * method to write one polymer as FASTA record; the header is the annotation
+   * of the polymer or, if there is none, its id
+   *
+   * @param polymer peptide or rna PolymerNotation
+   * @throws IOException if the output can not be written
+   * @throws FastaFormatException if the polymer is neither a peptide nor a rna
+   *           or contains HELM2 features
+   * @throws ChemistryException if the Chemistry Engine can not be initialized
+   */
+  public void write(PolymerNotation polymer) throws IOException, FastaFormatException, ChemistryException {
+    boolean peptide = polymer.getPolymerID() instanceof PeptideEntity;
+    if (!(peptide || polymer.getPolymerID() instanceof RNAEntity)) {
+      throw new FastaFormatException("FASTA can only be generated for PEPTIDE or RNA, not for "
+          + polymer.getPolymerID().getId());
+    }
+    String header = polymer.getPolymerID().getId();
+    if (polymer.getAnnotation() != null) {
+      header = polymer.getAnnotation();
+    }
+    out.append('>').append(header).append('\n');
+
+    column = 0;
+    List<MonomerNotation> monomerNotations = polymer.getListMonomers();
+    for (int i = 0; i < monomerNotations.size(); i++) {
+      MonomerNotation monomerNotation = monomerNotations.get(i);
+      appendSequence(peptide ? getPeptideAnalog(monomerNotation, i) : getRNAAnalog(monomerNotation, i));
+    }
+    out.append('\n');
+  }
+
+  /**
+   * method to get the natural analogue of a peptide monomer
+   *
+   * @param monomerNotation MonomerNotation
+   * @param position position of the MonomerNotation in the polymer
+   * @return natural analogue
+   * @throws FastaFormatException if HELM2 features are involved
+   * @throws ChemistryException if the Chemistry Engine can not be initialized
+   */
+  private String getPeptideAnalog(MonomerNotation monomerNotation, int position) throws FastaFormatException,
+      ChemistryException {
+    checkHELM1(monomerNotation);
+    String analog = peptideAnalogs.get(monomerNotation.getUnit());
+    if (analog == null) {
+      StringBuilder sb = new StringBuilder();
+      for (Monomer monomer : getMonomers(monomerNotation, position)) {
+        sb.append(monomer.getNaturalAnalog());
+      }
+      analog = sb.toString();
+      peptideAnalogs.put(monomerNotation.getUnit(), analog);
+    }
+    return analog;
+  }
+
+  /**
+   * method to get the natural analogue of the base(s) of a nucleotide
+   *
+   * @param monomerNotation MonomerNotation
+   * @param position position of the MonomerNotation in the polymer
+   * @return natural analogue
+   * @throws FastaFormatException if HELM2 features are involved
+   * @throws ChemistryException if the Chemistry Engine can not be initialized
+   */
+  private String getRNAAnalog(MonomerNotation monomerNotation, int position) throws FastaFormatException,
+      ChemistryException {
+    checkHELM1(monomerNotation);
+    /* a single monomer at the start is handled differently, it is not cached */
+    boolean cacheable = position > 0;
+    String analog = cacheable ? rnaAnalogs.get(monomerNotation.getUnit()) : null;
+    if (analog == null) {
+      StringBuilder sb = new StringBuilder();
+      for (Monomer monomer : getMonomers(monomerNotation, position)) {
+        if (monomer.getMonomerType().equals(Monomer.BRANCH_MOMONER_TYPE)) {
+          sb.append(monomer.getNaturalAnalog());
+        }
+      }
+      analog = sb.toString();
+      if (cacheable) {
+        rnaAnalogs.put(monomerNotation.getUnit(), analog);
+      }
+    }
+    return analog;
+  }
+
+  private static void checkHELM1(MonomerNotation monomerNotation) throws FastaFormatException {
+    if (monomerNotation instanceof MonomerNotationGroup || monomerNotation instanceof MonomerNotationList) {
+      throw new FastaFormatException("Functions can't be called for HELM2 objects");
+    }
+    try {
+      if (Integer.parseInt(monomerNotation.getCount()) != 1) {
+        throw new FastaFormatException("Functions can't be called for HELM2 objects");
+      }
+    } catch (NumberFormatException e) {
+      throw new FastaFormatException("Functions can't be called for HELM2 objects");
+    }
+  }
+
+  private static List<Monomer> getMonomers(MonomerNotation monomerNotation, int position) throws FastaFormatException,
+      ChemistryException {
+    try {
+      return Validation.getAllMonomers(monomerNotation, position);
+    } catch (HELM2HandledException | MonomerException | IOException | JDOMException | NotationException
+        | CTKException e) {
+      e.printStackTrace();
+      throw new FastaFormatException("Functions can't be called for HELM2 objects");
+    }
+  }
+
+  /**
+   * method to append a part of the sequence, the line is wrapped when it is
+   * full
+   *
+   * @param part part of the sequence
+   * @throws IOException if the output can not be written
+   */
+  private void appendSequence(String part) throws IOException {
+    if (lineWidth == 0) {
+      out.append(part);
+      return;
+    }
+    int start = 0;
+    while (start < part.length()) {
+      if (column == lineWidth) {
+        out.append('\n');
+        column = 0;
+      }
+      int end = Math.min(part.length(), start + lineWidth - column);
+      out.append(part, start, end);
+      column += end - start;
+      start = end;
+    }
+  }
+}
@@ -0,0 +1,148 @@
+/**
+ * *****************************************************************************
+ * Copyright C 2015, The Pistoia Alliance
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *****************************************************************************
+ */
+package org.helm.notation2.tools;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.helm.notation2.exception.ChemistryException;
+import org.helm.notation2.exception.HELM2HandledException;
+import org.helm.notation2.exception.RNAUtilsException;
+import org.helm.notation2.parser.exceptionparser.NotationException;
+import org.helm.notation2.parser.notation.connection.ConnectionNotation;
+import org.helm.notation2.parser.notation.polymer.PolymerNotation;
+import org.helm.notation2.parser.notation.polymer.RNAEntity;
+
+/**
+ * Hybridization, the base pairs of two rna/dna polymers as
+ * {@link RNAUtils#hybridize(PolymerNotation, PolymerNotation)} builds them,
+ * kept up to date while nucleotides of the polymers are replaced. After an
+ * edit only the replaced nucleotides are read again; if their natural
+ * analogues did not change, e.g. a sugar was modified, the matched fragment is
+ * the same and only its base pairs are checked. Only a change of a natural
+ * analogue needs a new search of the matched fragment. An instance is not
+ * thread-safe.
+ */
+public final class Hybridization {
+
+  private final PolymerNotation one;
+
+  private final PolymerNotation two;
+
+  private RnaView view1;
+
+  private RnaView view2;
+
+  /* first matched nucleotide of one and of two, number of matched nucleotides */
+  private int[] match;
+
+  private List<ConnectionNotation> connections;
+
+  /**
+   * Constructs the hybridization of the two polymers
+   *
+   * @param one first rna/dna PolymerNotation
+   * @param two second rna/dna PolymerNotation
+   * @throws RNAUtilsException if a polymer is not rna or dna or its
+   *           nucleotides can not be read
+   * @throws HELM2HandledException if HELM2 features are involved
+   * @throws ChemistryException if the Chemistry Engine can not be initialized
+   * @throws NotationException if a matched nucleotide has no base
+   */
+  public Hybridization(PolymerNotation one, PolymerNotation two) throws RNAUtilsException, HELM2HandledException,
+      ChemistryException, NotationException {
+    if (!(one.getPolymerID() instanceof RNAEntity) || !(two.getPolymerID() instanceof RNAEntity)) {
+      throw new RNAUtilsException("Functions can only be called for RNA/DNA");
+    }
+    this.one = one;
+    this.two = two;
+    this.view1 = RnaView.of(one);
+    this.view2 = RnaView.of(two);
+    this.match = RNAUtils.getMatch(view1, view2);
+    this.connections = getBasePairs(view1, view2, match);
+  }
+
+  /**
+   * method to get the base pairs
+   *
+   * @return unmodifiable List of ConnectionNotations
+   */
+  public List<ConnectionNotation> getConnections() {
+    return connections;
+  }
+
+  /**
+   * method to bring the base pairs up to date after nucleotides of the
+   * polymers were replaced; the base pairs are the same as a new
+   * hybridization would give
+   *
+   * @return true if the base pairs changed, the previous ConnectionNotations
+   *         are kept otherwise
+   * @throws RNAUtilsException if the nucleotides can not be read
+   * @throws HELM2HandledException if HELM2 features are involved
+   * @throws ChemistryException if the Chemistry Engine can not be initialized
+   * @throws NotationException if a matched nucleotide has no base
+   */
+  public boolean update() throws RNAUtilsException, HELM2HandledException, ChemistryException, NotationException {
+    RnaView newView1 = RnaView.of(one);
+    RnaView newView2 = RnaView.of(two);
+    if (newView1 == view1 && newView2 == view2) {
+      return false;
+    }
+
+    int[] newMatch = match;
+    if (!newView1.getSequence().equals(view1.getSequence()) || !newView2.getSequence().equals(view2.getSequence())) {
+      newMatch = RNAUtils.getMatch(newView1, newView2);
+    }
+
+    boolean changed = !Arrays.equals(newMatch, match);
+    /* replaced nucleotides of the fragment have to be checked for their base */
+    boolean replaced = false;
+    for (int i = 0; !changed && i < match[2]; i++) {
+      int nucleotide1 = match[0] + i;
+      int nucleotide2 = match[1] + i;
+      replaced |= newView1.getNucleotides().get(nucleotide1) != view1.getNucleotides().get(nucleotide1)
+          || newView2.getNucleotides().get(nucleotide2) != view2.getNucleotides().get(nucleotide2);
+      changed = newView1.getBasePosition(nucleotide1) != view1.getBasePosition(nucleotide1)
+          || newView2.getBasePosition(nucleotide2) != view2.getBasePosition(nucleotide2);
+    }
+
+    List<ConnectionNotation> newConnections = connections;
+    if (changed || replaced) {
+      newConnections = getBasePairs(newView1, newView2, newMatch);
+    }
+    view1 = newView1;
+    view2 = newView2;
+    match = newMatch;
+    if (changed) {
+      connections = newConnections;
+    }
+    return changed;
+  }
+
+  private List<ConnectionNotation> getBasePairs(RnaView view1, RnaView view2, int[] match) throws NotationException {
+    return Collections.unmodifiableList(RNAUtils.getBasePairs(one, view1, match[0], two, view2, match[1], match[2]));
+  }
+}
@@ -0,0 +1,204 @@
+/**
+ * *****************************************************************************
+ * Copyright C 2015, The Pistoia Alliance
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *****************************************************************************
+ */
+package org.helm.notation2.tools;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.helm.notation2.exception.ChemistryException;
+import org.helm.notation2.exception.HELM2HandledException;
+import org.helm.notation2.exception.RNAUtilsException;
+import org.helm.notation2.parser.exceptionparser.NotationException;
+import org.helm.notation2.parser.notation.connection.ConnectionNotation;
+import org.helm.notation2.parser.notation.polymer.PolymerNotation;
+
+/**
+ * HybridizationIndex, class to hybridize many strands with the same target
+ * strands, e.g. antisense candidates with the sense strands of a siRNA
+ * library. The RnaViews and the suffix automata of the targets are computed
+ * once, each query strand is read once for all targets. The base pairs are the same ConnectionNotations
+ * {@link RNAUtils#hybridize(PolymerNotation, PolymerNotation)} produces with
+ * the target as first polymer. The index is immutable and can be shared
+ * between threads.
+ */
+public final class HybridizationIndex {
+
+  private final List<Strand> targets;
+
+  /**
+   * Constructs the index of the given target strands
+   *
+   * @param targets rna/dna PolymerNotations
+   * @throws RNAUtilsException if a target is not rna or dna or its nucleotides
+   *           can not be read
+   * @throws HELM2HandledException if a target contains HELM2 features
+   * @throws ChemistryException if the Chemistry Engine can not be initialized
+   */
+  public HybridizationIndex(List<PolymerNotation> targets) throws RNAUtilsException, HELM2HandledException,
+      ChemistryException {
+    List<Strand> strands = new ArrayList<Strand>(targets.size());
+    for (PolymerNotation target : targets) {
+      strands.add(new Strand(target, true));
+    }
+    this.targets = Collections.unmodifiableList(strands);
+  }
+
+  /**
+   * method to get the number of targets
+   *
+   * @return number of targets
+   */
+  public int size() {
+    return targets.size();
+  }
+
+  /**
+   * method to get one target
+   *
+   * @param index position of the target, starting with 0
+   * @return target PolymerNotation
+   */
+  public PolymerNotation getTarget(int index) {
+    return targets.get(index).polymer;
+  }
+
+  /**
+   * method to hybridize the given strand with one target
+   *
+   * @param index position of the target, starting with 0
+   * @param polymer rna/dna PolymerNotation
+   * @return List of ConnectionNotations, empty if there is no matching
+   *         fragment
+   * @throws RNAUtilsException if the polymer is not rna or dna or its
+   *           nucleotides can not be read
+   * @throws HELM2HandledException if the polymer contains HELM2 features
+   * @throws NotationException if the sequences are not natural nucleotide
+   *           sequences or a paired nucleotide has no base
+   * @throws ChemistryException if the Chemistry Engine can not be initialized
+   */
+  public List<ConnectionNotation> hybridize(int index, PolymerNotation polymer) throws RNAUtilsException,
+      HELM2HandledException, NotationException, ChemistryException {
+    return hybridize(targets.get(index), new Query(polymer));
+  }
+
+  /**
+   * method to hybridize the given strand with all targets
+   *
+   * @param polymer rna/dna PolymerNotation
+   * @return Lists of ConnectionNotations in the order of the targets
+   * @throws RNAUtilsException if the polymer is not rna or dna or its
+   *           nucleotides can not be read
+   * @throws HELM2HandledException if the polymer contains HELM2 features
+   * @throws NotationException if the sequences are not natural nucleotide
+   *           sequences or a paired nucleotide has no base
+   * @throws ChemistryException if the Chemistry Engine can not be initialized
+   */
+  public List<List<ConnectionNotation>> hybridizeAll(PolymerNotation polymer) throws RNAUtilsException,
+      HELM2HandledException, NotationException, ChemistryException {
+    Query query = new Query(polymer);
+    List<List<ConnectionNotation>> connections = new ArrayList<List<ConnectionNotation>>(targets.size());
+    for (Strand target : targets) {
+      connections.add(hybridize(target, query));
+    }
+    return connections;
+  }
+
+  private static List<ConnectionNotation> hybridize(Strand target, Query query) throws NotationException {
+    String seq1 = target.sequence;
+    String compSeq2 = query.complement;
+    if (!seq1.equals(seq1.toUpperCase()) || !compSeq2.equals(compSeq2.toUpperCase())) {
+      throw new NotationException(
+          "Both sequences must be natural nucleotide sequence in upper case ");
+    }
+
+    /* the same fragment RNAUtils.getMaxMatchFragment finds */
+    String maxSeqMatch;
+    if (seq1.length() > compSeq2.length()) {
+      maxSeqMatch = RNAUtils.getMaxMatchFragment(target.automaton, compSeq2,
+          RNAUtils.MINUMUM_MATCH_FRAGMENT_LENGTH);
+    } else {
+      maxSeqMatch = RNAUtils.getMaxMatchFragment(query.getComplementAutomaton(), seq1,
+          RNAUtils.MINUMUM_MATCH_FRAGMENT_LENGTH);
+    }
+
+    int seqMatchLength = maxSeqMatch.length();
+    if (seqMatchLength == 0) {
+      return new ArrayList<ConnectionNotation>();
+    }
+    int seq1NucStart = seq1.indexOf(maxSeqMatch);
+    int seq2NucStart = query.strand.sequence.length() - seqMatchLength - compSeq2.indexOf(maxSeqMatch);
+    return RNAUtils.getBasePairs(target.polymer, target.view, seq1NucStart, query.strand.polymer,
+        query.strand.view, seq2NucStart, seqMatchLength);
+  }
+
+  /**
+   * Strand, a polymer with its RnaView and its natural analogue sequence (U
+   * instead of T)
+   */
+  private static final class Strand {
+
+    private final PolymerNotation polymer;
+
+    private final RnaView view;
+
+    private final String sequence;
+
+    /* only built for targets */
+    private final SuffixAutomaton automaton;
+
+    private Strand(PolymerNotation polymer, boolean indexed) throws RNAUtilsException, HELM2HandledException,
+        ChemistryException {
+      this.polymer = polymer;
+      this.view = RnaView.of(polymer);
+      this.sequence = view.getSequence().replace('T', 'U');
+      this.automaton = indexed ? new SuffixAutomaton(sequence) : null;
+    }
+  }
+
+  /**
+   * Query, a strand with its reverse complement; the automaton of the
+   * complement is only built if a target is not longer than the complement
+   */
+  private static final class Query {
+
+    private final Strand strand;
+
+    private final String complement;
+
+    private SuffixAutomaton complementAutomaton;
+
+    private Query(PolymerNotation polymer) throws RNAUtilsException, HELM2HandledException, ChemistryException {
+      this.strand = new Strand(polymer, false);
+      this.complement = RNAUtils.getReverseComplement(strand.sequence);
+    }
+
+    private SuffixAutomaton getComplementAutomaton() {
+      if (complementAutomaton == null) {
+        complementAutomaton = new SuffixAutomaton(complement);
+      }
+      return complementAutomaton;
+    }
+  }
+}
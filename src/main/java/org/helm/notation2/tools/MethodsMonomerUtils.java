@@ -25,9 +25,14 @@ package org.helm.notation2.tools;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -62,6 +67,9 @@ public final class MethodsMonomerUtils {
   private static final Logger LOG =
       LoggerFactory.getLogger(MethodsMonomerUtils.class);
 
+  /** attachment with cap group in the SMILES, e.g. [OH:2] */
+  private static final Pattern ATTACHMENT_PATTERN = Pattern.compile("\\[(\\w+):([1-9]\\d*)\\]");
+
   /**
    * Default constructor.
    */
@@ -83,29 +91,37 @@ public final class MethodsMonomerUtils {
       throws HELM2HandledException, ChemistryException{
     List<Monomer> items = new ArrayList<Monomer>();
     for (int i = 0; i < monomerNotations.size(); i++) {
-      MonomerNotation monomerNotation = monomerNotations.get(i);
+      items.addAll(getListOfHandledMonomers(monomerNotations.get(i), i));
+    }
+    return items;
+  }
 
-      /* group element */
-      if (monomerNotation instanceof MonomerNotationGroup || monomerNotation instanceof MonomerNotationList) {
+  /**
+   * method to get the monomers of one HELM1 valid MonomerNotation
+   *
+   * @param monomerNotation MonomerNotation
+   * @param position position of the MonomerNotation in its polymer
+   * @return List of Monomer
+   * @throws HELM2HandledException if the HELM2 features were there
+   * @throws ChemistryException if the Chemistry Engine can not be initialized
+   */
+  static List<Monomer> getListOfHandledMonomers(MonomerNotation monomerNotation, int position)
+      throws HELM2HandledException, ChemistryException {
+    /* group element */
+    if (monomerNotation instanceof MonomerNotationGroup || monomerNotation instanceof MonomerNotationList) {
+      throw new HELM2HandledException("Functions can't be called for HELM2 objects");
+    }
+    try {
+      int count = Integer.parseInt(monomerNotation.getCount());
+      if (count == 0 || count > 1) {
         throw new HELM2HandledException("Functions can't be called for HELM2 objects");
-      } else {
-        try {
-          int count = Integer.parseInt(monomerNotation.getCount());
-          if (count == 0 || count > 1) {
-            throw new HELM2HandledException("Functions can't be called for HELM2 objects");
-          }
-
-          // for (int j = 0; j < count; j++) {
-          items.addAll(Validation.getAllMonomers(monomerNotation, i));
-          // }
-        } catch (NumberFormatException | JDOMException | MonomerException | IOException | NotationException | CTKException e) {
-          e.printStackTrace();
-          throw new HELM2HandledException("Functions can't be called for HELM2 objects");
-        }
-
       }
+
+      return Validation.getAllMonomers(monomerNotation, position);
+    } catch (NumberFormatException | JDOMException | MonomerException | IOException | NotationException | CTKException e) {
+      e.printStackTrace();
+      throw new HELM2HandledException("Functions can't be called for HELM2 objects");
     }
-    return items;
   }
 
   /**
@@ -210,37 +226,11 @@ public final class MethodsMonomerUtils {
         /*
          * smiles check! Maybe the smiles is already included in the data base
          */
-        if (monomerFactory.getSmilesMonomerDB().get(id) != null) {
-          monomer = monomerFactory.getSmilesMonomerDB().get(id);
+        monomer = getSmilesMonomer(monomerStore, id);
+        if (monomer != null) {
           return monomer;
-
-        } else {
-          /* This has to be done */
-          monomer = monomerFactory.getSmilesMonomerDB().get(id);
-          if (monomer == null) {
-            /* Rgroups information are not given -> only smiles information */
-            AbstractChemistryManipulator manipulator = Chemistry.getInstance().getManipulator();
-            if (manipulator.validateSMILES(id)) {
-              if (type.equals(Monomer.CHEMICAL_POLYMER_TYPE)) {
-                monomer = generateTemporaryMonomer(id, type, "X");
-
-              } else if (type.equals(Monomer.PEPTIDE_POLYMER_TYPE)) {
-                monomer = generateTemporaryMonomer(id, type, "X");
-              } else if (type.equals(Monomer.NUCLIEC_ACID_POLYMER_TYPE)) {
-                monomer = generateTemporaryMonomer(id, type, info);
-              }
-            } else {
-              throw new MonomerException("Defined Monomer is not in the database and also not valid SMILES " + id);
-            }
-
-            /* Add new monomer to the database */
-            MonomerFactory.getInstance().getMonomerStore().addNewMonomer(monomer);
-            MonomerFactory.getInstance().getSmilesMonomerDB().put(monomer.getCanSMILES(), monomer);
-            // save monomer db to local file after successful update //
-            MonomerFactory.getInstance().saveMonomerCache();
-            LOG.info("Monomer was added to the database");
-          }
         }
+        monomer = registerAdHocMonomer(monomerStore, type, id, info);
       }
       try{
       List<Attachment> idList = monomer.getAttachmentList();
@@ -264,10 +254,123 @@ public final class MethodsMonomerUtils {
   }
   
   
+  /**
+   * method to get a monomer by its SMILES from the database
+   *
+   * @param monomerStore MonomerStore
+   * @param smiles SMILES of the monomer
+   * @return Monomer, null if the SMILES is not in the database
+   */
+  private static Monomer getSmilesMonomer(MonomerStore monomerStore, String smiles) {
+    /* new monomers are added under the store's lock */
+    synchronized (monomerStore) {
+      return monomerStore.getMonomer(smiles);
+    }
+  }
+
+  /**
+   * method to add a monomer given only by its SMILES to the database; for
+   * concurrent calls with the same SMILES and the same store the monomer is
+   * generated only once and all callers get the same monomer
+   *
+   * @param monomerStore store of the calling thread, the monomer is added to
+   *          it
+   * @param type Type of the Monomer
+   * @param smiles SMILES of the Monomer
+   * @param info natural analog for nucleotide monomers
+   * @return the new Monomer
+   * @throws MonomerException if the SMILES is not valid or the monomer can not
+   *           be added to the database
+   * @throws NotationException
+   * @throws ChemistryException if the Chemistry Engine can not be initialized
+   */
+  private static Monomer registerAdHocMonomer(final MonomerStore monomerStore, final String type, final String smiles, final String info) throws MonomerException, NotationException, ChemistryException {
+    FutureTask<Monomer> registration = new FutureTask<Monomer>(new Callable<Monomer>() {
+      @Override
+      public Monomer call() throws Exception {
+        return generateAdHocMonomer(monomerStore, type, smiles, info);
+      }
+    });
+    AdHocKey key = new AdHocKey(monomerStore, smiles);
+    FutureTask<Monomer> running = adHocRegistrations.putIfAbsent(key, registration);
+    if (running == null) {
+      running = registration;
+      registration.run();
+    }
+
+    try {
+      return running.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new MonomerException("Registration of the monomer was interrupted " + smiles, e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof MonomerException) {
+        throw (MonomerException) cause;
+      } else if (cause instanceof NotationException) {
+        throw (NotationException) cause;
+      } else if (cause instanceof ChemistryException) {
+        throw (ChemistryException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new MonomerException("Defined Monomer could not be added to the database " + smiles, cause);
+    } finally {
+      /* the monomer is in the database now, later calls will find it there */
+      adHocRegistrations.remove(key, running);
+    }
+  }
+
+  /**
+   * method to generate a new monomer given only by its SMILES and to add it to
+   * the database; the local monomer cache is saved in the background
+   *
+   * @param monomerStore store of the calling thread
+   * @param type Type of the Monomer
+   * @param smiles SMILES of the Monomer
+   * @param info natural analog for nucleotide monomers
+   * @return the new Monomer
+   * @throws MonomerException if the SMILES is not valid
+   * @throws NotationException
+   * @throws ChemistryException if the Chemistry Engine can not be initialized
+   * @throws MonomerLoadingException
+   */
+  private static Monomer generateAdHocMonomer(MonomerStore monomerStore, String type, String smiles, String info) throws MonomerException, NotationException, ChemistryException, MonomerLoadingException {
+    MonomerFactory monomerFactory = MonomerFactory.getInstance();
+    /* the monomer could have been added by a registration that just finished */
+    Monomer monomer = getSmilesMonomer(monomerStore, smiles);
+    if (monomer != null) {
+      return monomer;
+    }
+
+    /* Rgroups information are not given -> only smiles information */
+    AbstractChemistryManipulator manipulator = Chemistry.getInstance().getManipulator();
+    if (!manipulator.validateSMILES(smiles)) {
+      throw new MonomerException("Defined Monomer is not in the database and also not valid SMILES " + smiles);
+    }
+    if (type.equals(Monomer.CHEMICAL_POLYMER_TYPE) || type.equals(Monomer.PEPTIDE_POLYMER_TYPE)) {
+      monomer = generateTemporaryMonomer(smiles, type, "X");
+    } else if (type.equals(Monomer.NUCLIEC_ACID_POLYMER_TYPE)) {
+      monomer = generateTemporaryMonomer(smiles, type, info);
+    } else {
+      throw new MonomerException("Monomers given by SMILES are not supported for the polymer type " + type);
+    }
+
+    /* generateTemporaryMonomer added the monomer to the store */
+    synchronized (monomerStore) {
+      monomerStore.getSmilesMonomerDB().put(monomer.getCanSMILES(), monomer);
+    }
+    // save monomer db to local file after successful update //
+    monomerFactory.saveMonomerCacheAsync();
+    LOG.info("Monomer was added to the database");
+    return monomer;
+  }
+
   private static List<Attachment> extractAttachments(String smiles) throws MonomerLoadingException{
 	  List<Attachment> attachments = new ArrayList<Attachment>();
-	  Pattern pattern = Pattern.compile("\\[(\\w+):([1-9]\\d*)\\]");
-	  Matcher matcher = pattern.matcher(smiles);
+	  Matcher matcher = ATTACHMENT_PATTERN.matcher(smiles);
 	  while(matcher.find()){
 		 Attachment att = new Attachment();
 		// <CapGroupSmiles>[*:1][H]</CapGroupSmiles>
@@ -336,11 +439,11 @@ public final class MethodsMonomerUtils {
     String number = "";
     while (pos >= 0) {
       pos++;
-      String letter = uniqueSmiles.substring(pos, pos + 1);
-      while (letter.matches("\\d")) {
+      char letter = uniqueSmiles.charAt(pos);
+      while (Character.isDigit(letter)) {
         number = number + letter;
         pos++;
-        letter = uniqueSmiles.substring(pos, pos + 1);
+        letter = uniqueSmiles.charAt(pos);
       }
 
       try {
@@ -378,7 +481,11 @@ public final class MethodsMonomerUtils {
 
   }
 
-  private static Map<String, Integer> seedMap = new HashMap<String, Integer>();
+  /** counters of the ad-hoc monomer ids, key is the polymer type */
+  private static final ConcurrentMap<String, AtomicInteger> seedMap = new ConcurrentHashMap<String, AtomicInteger>();
+
+  /** registrations of ad-hoc monomers in progress */
+  private static final ConcurrentMap<AdHocKey, FutureTask<Monomer>> adHocRegistrations = new ConcurrentHashMap<AdHocKey, FutureTask<Monomer>>();
 
   private static String getAdHocMonomerIDPrefix(String polymerType) {
     if (polymerType.equals(Monomer.CHEMICAL_POLYMER_TYPE)) {
@@ -393,25 +500,55 @@ public final class MethodsMonomerUtils {
   }
 
   private static String generateNextAdHocMonomerID(String polymerType) throws MonomerLoadingException, ChemistryException {
-    Map<String, Monomer> internalMonomers = null;
-    internalMonomers = MonomerFactory.getInstance().getMonomerDB().get(polymerType);
+    /* the bound store, it also looks up the stores below it */
+    MonomerStore monomerStore = MonomerFactory.getInstance().getMonomerStore();
 
-    Map<String, Monomer> monomers = MonomerFactory.getInstance().getMonomerStore().getMonomers(polymerType);
-
-    Integer seed = seedMap.get(polymerType);
+    AtomicInteger seed = seedMap.get(polymerType);
     if (seed == null) {
-      seed = 0;
+      AtomicInteger newSeed = new AtomicInteger();
+      seed = seedMap.putIfAbsent(polymerType, newSeed);
+      if (seed == null) {
+        seed = newSeed;
+      }
     }
-    seed++;
-    seedMap.put(polymerType, seed);
 
-    String result = getAdHocMonomerIDPrefix(polymerType) + seed;
+    /* skip the ids which are already used, e.g. from the local monomer cache */
+    String prefix = getAdHocMonomerIDPrefix(polymerType);
+    String result = prefix + seed.incrementAndGet();
+    while (monomerStore.getMonomer(polymerType, result) != null) {
+      result = prefix + seed.incrementAndGet();
+    }
+    return result;
+  }
 
-    if ((monomers != null && monomers.containsKey(result))
-        || (internalMonomers != null && internalMonomers.containsKey(result))) {
-      return generateNextAdHocMonomerID(polymerType);
-    } else {
-      return result;
+  /**
+   * key of an ad-hoc registration: the store the monomer is added to and its
+   * SMILES; a monomer registered in a layered store must not be handed to
+   * threads using another store
+   */
+  private static final class AdHocKey {
+
+    private final MonomerStore monomerStore;
+
+    private final String smiles;
+
+    private AdHocKey(MonomerStore monomerStore, String smiles) {
+      this.monomerStore = monomerStore;
+      this.smiles = smiles;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof AdHocKey)) {
+        return false;
+      }
+      AdHocKey other = (AdHocKey) obj;
+      return monomerStore == other.monomerStore && smiles.equals(other.smiles);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * System.identityHashCode(monomerStore) + smiles.hashCode();
     }
   }
 
@@ -98,6 +98,11 @@ public class MonomerParser {
   
   protected static final String SMILES_EXTENSION_SEPARATOR_REGEX = "\\|";
 
+  private static final Pattern SMILES_EXTENSION_SEPARATOR_PATTERN = Pattern.compile(SMILES_EXTENSION_SEPARATOR_REGEX);
+
+  /** attachment point with atom mapping in the SMILES, e.g. [*:1] or [OH:2] */
+  private static final Pattern ATTACHMENT_LABEL_PATTERN = Pattern.compile("\\[\\*:([1-9]\\d*)\\]|\\[\\w+:([1-9]\\d*)\\]");
+
   static {
     polymerTypes = Arrays.asList(Monomer.SUPPORTED_POLYMER_TYPES);
   }
@@ -579,27 +584,20 @@ public class MonomerParser {
       if (tokens.length > 1) {
         for (int i = 1; i < tokens.length; i++) {
           String token = tokens[i];
-          char[] chars = token.toCharArray();
-          String numbers = "";
-          for (int j = 0; j < chars.length; j++) {
-            String letter = String.valueOf(chars[j]);
-            if (letter.matches("[0-9]")) {
-              numbers += letter;
-            } else {
-              break;
-            }
+          int end = 0;
+          while (end < token.length() && isDigit(token.charAt(end))) {
+            end++;
           }
 
-          if (numbers.length() > 0) {
-            list.add("R" + numbers);
+          if (end > 0) {
+            list.add("R" + token.substring(0, end));
           }
         }
       }
     }
     
     if(extendedSmiles == null){
-    	Pattern pattern = Pattern.compile("\\[\\*:([1-9]\\d*)\\]|\\[\\w+:([1-9]\\d*)\\]");
-    	Matcher matcher = pattern.matcher(smiles);
+    	Matcher matcher = ATTACHMENT_LABEL_PATTERN.matcher(smiles);
 
   	  
   	  while(matcher.find()){
@@ -622,7 +620,7 @@ public class MonomerParser {
 	  String result = null;
 	    try {
 
-	      String[] components = smiles.split(SMILES_EXTENSION_SEPARATOR_REGEX);
+	      String[] components = SMILES_EXTENSION_SEPARATOR_PATTERN.split(smiles);
 	      result = components[1];
 	    } catch (ArrayIndexOutOfBoundsException e) {
 	// not extended SMILES
@@ -662,19 +660,26 @@ public class MonomerParser {
     if (label.equalsIgnoreCase(Attachment.PAIR_ATTACHMENT)) {
       return;
     }
-    char[] chars = label.toCharArray();
-
-    if (!(String.valueOf(chars[0])).equals("R")) {
+    if (label.charAt(0) != 'R') {
       throw new MonomerException("Invalid Attachment Label format");
     }
-    for (int i = 1; i < chars.length; i++) {
-      char c = chars[i];
-      if (!(String.valueOf(c)).matches("[0-9]")) {
+    for (int i = 1; i < label.length(); i++) {
+      if (!isDigit(label.charAt(i))) {
         throw new MonomerException("Invalid Attachment Label format");
       }
     }
   }
 
+  /**
+   * This method checks if the character is one of 0-9
+   *
+   * @param c character
+   * @return true if it is a digit, false otherwise
+   */
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
   public static void fillAttachmentInfo(Attachment att)
       throws MonomerException, IOException, JDOMException, ChemistryException, CTKException {
     Map<String, Attachment> attachmentMap = MonomerFactory.getInstance().getAttachmentDB();
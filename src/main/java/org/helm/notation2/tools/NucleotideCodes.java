@@ -0,0 +1,117 @@
+/**
+ * *****************************************************************************
+ * Copyright C 2015, The Pistoia Alliance
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *****************************************************************************
+ */
+package org.helm.notation2.tools;
+
+import java.util.Arrays;
+
+/**
+ * NucleotideCodes, natural analogue sequences as arrays of one byte per
+ * nucleotide: A=0, C=1, G=2, U=3 (T is read as U) and X=4. The complement of
+ * A, C, G and U is 3 - code, X stays X; the complement is a single pass over
+ * the array with a table lookup. Other characters have no code. The RnaView
+ * keeps the codes of its sequence and builds its reverse complement from them.
+ */
+final class NucleotideCodes {
+
+  static final byte A = 0;
+
+  static final byte C = 1;
+
+  static final byte G = 2;
+
+  static final byte U = 3;
+
+  static final byte X = 4;
+
+  private static final char[] SYMBOLS = {'A', 'C', 'G', 'U', 'X'};
+
+  private static final byte[] COMPLEMENTS = {U, G, C, A, X};
+
+  /* code of each ASCII character, -1 if there is none */
+  private static final byte[] CODES = new byte[128];
+
+  static {
+    Arrays.fill(CODES, (byte) -1);
+    for (byte code = 0; code < SYMBOLS.length; code++) {
+      CODES[SYMBOLS[code]] = code;
+    }
+    CODES['T'] = U;
+  }
+
+  /**
+   * Default constructor.
+   */
+  private NucleotideCodes() {
+
+  }
+
+  /**
+   * method to encode a natural analogue sequence
+   *
+   * @param sequence single letter, upper case sequence
+   * @return codes, null if the sequence contains a character without code
+   */
+  static byte[] encode(CharSequence sequence) {
+    byte[] codes = new byte[sequence.length()];
+    for (int i = 0; i < codes.length; i++) {
+      char c = sequence.charAt(i);
+      byte code = (c < CODES.length) ? CODES[c] : -1;
+      if (code < 0) {
+        return null;
+      }
+      codes[i] = code;
+    }
+    return codes;
+  }
+
+  /**
+   * method to decode the codes into a sequence, T is written as U
+   *
+   * @param codes codes
+   * @return sequence
+   */
+  static String decode(byte[] codes) {
+    char[] chars = new char[codes.length];
+    for (int i = 0; i < codes.length; i++) {
+      chars[i] = SYMBOLS[codes[i]];
+    }
+    return new String(chars);
+  }
+
+  /**
+   * method to get the complement, optionally in reverse order
+   *
+   * @param codes codes
+   * @param reverse true for the reverse complement
+   * @return new array with the complement codes
+   */
+  static byte[] complement(byte[] codes, boolean reverse) {
+    byte[] result = new byte[codes.length];
+    int last = codes.length - 1;
+    for (int i = 0; i < codes.length; i++) {
+      result[reverse ? last - i : i] = COMPLEMENTS[codes[i]];
+    }
+    return result;
+  }
+}
@@ -202,61 +202,100 @@ public class NucleotideParser {
     return sb.toString();
   }
 
-  public static List<String> getMonomerIDListFromNucleotide(String element) throws NotationException {
-    {
-      List<String> ids = new ArrayList<>();
-
-      char[] chars = element.toCharArray();
-      char prevLetter = 0;
-
-      for (int i = 0; i < chars.length; i++) {
-        char letter = chars[i];
-        if (letter == MODIFICATION_START_SYMBOL) {
-          int matchingPos = NucleotideParser.getMatchingBracketPosition(chars, i, MODIFICATION_START_SYMBOL, MODIFICATION_END_SYMBOL);
-          i++;
-
-          if (matchingPos == -1) {
-            throw new NotationException(
-                "Invalid Polymer Notation: modified monomer must be enclosed by square brackets");
-          } else {
-            ids.add(element.substring(i, matchingPos));
-          }
-          i = matchingPos;
-
-        } else if (letter == BRANCH_START_SYMBOL) {
-          if (i == 0) {
-            throw new NotationException(
-                "Invalid Polymer Notation: branch monomer is not allowed at the beginnig of notation");
-          }
+  /**
+   * MonomerSpanHandler, receives the monomers of a nucleotide notation found by
+   * {@link NucleotideParser#scanNucleotide(CharSequence, MonomerSpanHandler)}
+   */
+  public interface MonomerSpanHandler {
+
+    /**
+     * method to handle one monomer, its id is notation[start, end) without
+     * brackets
+     *
+     * @param notation scanned notation
+     * @param start start of the monomer id
+     * @param end end of the monomer id, exclusive
+     */
+    void monomerFound(CharSequence notation, int start, int end);
+  }
 
-          if (prevLetter == BRANCH_END_SYMBOL) {
-            throw new NotationException(
-                "Invalid Polymer Notation: branch monomers cannot be connected with each other");
-          }
+  public static List<String> getMonomerIDListFromNucleotide(String element) throws NotationException {
+    final List<String> ids = new ArrayList<>();
+    scanNucleotide(element, new MonomerSpanHandler() {
+      @Override
+      public void monomerFound(CharSequence notation, int start, int end) {
+        ids.add(notation.subSequence(start, end).toString());
+      }
+    });
+    return ids;
+  }
 
-          int matchingPos = NucleotideParser.getMatchingBracketPosition(chars, i, BRANCH_START_SYMBOL, BRANCH_END_SYMBOL);
-          i++;
-          if (matchingPos == -1) {
-            throw new NotationException(
-                "Invalid Polymer Notation: modified monomer must be enclosed by brackets");
-          } else {
-        	String el = element.substring(i, matchingPos);
-        	if(el.startsWith("[") && el.endsWith("]")){
-        		el = el.substring(1, el.length() - 1);
-        	}
-            ids.add(el);
-          }
-          i = matchingPos;
+  /**
+   * method to scan a nucleotide notation, e.g. [dR](A)P, without copying it;
+   * the monomers are reported in their order to the handler
+   *
+   * @param notation nucleotide notation
+   * @param handler receives the monomers, null to count them only
+   * @return number of monomers
+   * @throws NotationException if the notation is not valid
+   */
+  public static int scanNucleotide(CharSequence notation, MonomerSpanHandler handler) throws NotationException {
+    int count = 0;
+    char prevLetter = 0;
+    int length = notation.length();
+
+    for (int i = 0; i < length; i++) {
+      char letter = notation.charAt(i);
+      int start;
+      int end;
+      if (letter == MODIFICATION_START_SYMBOL) {
+        int matchingPos = getMatchingBracketPosition(notation, i, MODIFICATION_START_SYMBOL, MODIFICATION_END_SYMBOL);
+        if (matchingPos == -1) {
+          throw new NotationException(
+              "Invalid Polymer Notation: modified monomer must be enclosed by square brackets");
+        }
+        start = i + 1;
+        end = matchingPos;
+        i = matchingPos;
+
+      } else if (letter == BRANCH_START_SYMBOL) {
+        if (i == 0) {
+          throw new NotationException(
+              "Invalid Polymer Notation: branch monomer is not allowed at the beginnig of notation");
+        }
 
-        } else {
-          ids.add(element.substring(i, i + 1));
+        if (prevLetter == BRANCH_END_SYMBOL) {
+          throw new NotationException(
+              "Invalid Polymer Notation: branch monomers cannot be connected with each other");
         }
-        prevLetter = letter;
-      }
 
-      return ids;
+        int matchingPos = getMatchingBracketPosition(notation, i, BRANCH_START_SYMBOL, BRANCH_END_SYMBOL);
+        if (matchingPos == -1) {
+          throw new NotationException(
+              "Invalid Polymer Notation: modified monomer must be enclosed by brackets");
+        }
+        start = i + 1;
+        end = matchingPos;
+        /* modified branch monomer, e.g. ([5meC]) */
+        if (end - start > 1 && notation.charAt(start) == MODIFICATION_START_SYMBOL
+            && notation.charAt(end - 1) == MODIFICATION_END_SYMBOL) {
+          start++;
+          end--;
+        }
+        i = matchingPos;
 
+      } else {
+        start = i;
+        end = i + 1;
+      }
+      count++;
+      if (handler != null) {
+        handler.monomerFound(notation, start, end);
+      }
+      prevLetter = letter;
     }
+
+    return count;
   }
 
   /**
@@ -282,17 +321,15 @@ public class NucleotideParser {
     if (reverseNucMap.containsKey(tmpNotation)) {
       symbol = reverseNucMap.get(tmpNotation);
     } else {
-      char[] chars = id.toCharArray();
       String base = null;
       symbol = "X";
 
       // find base
-      for (int j = 0; j < chars.length; j++) {
-        char letter = chars[j];
+      for (int j = 0; j < id.length(); j++) {
+        char letter = id.charAt(j);
         // skip modifications if not in branch
         if (letter == MODIFICATION_START_SYMBOL) {
-          int matchingPos = NucleotideParser.getMatchingBracketPosition(chars, j, MODIFICATION_START_SYMBOL, MODIFICATION_END_SYMBOL);
-          j++;
+          int matchingPos = getMatchingBracketPosition(id, j, MODIFICATION_START_SYMBOL, MODIFICATION_END_SYMBOL);
 
           if (matchingPos == -1) {
             throw new NotationException(
@@ -303,19 +340,17 @@ public class NucleotideParser {
         }
         // base is always a branch monomer
         else if (letter == BRANCH_START_SYMBOL) {
-          int matchingPos = NucleotideParser.getMatchingBracketPosition(chars, j, BRANCH_START_SYMBOL, BRANCH_END_SYMBOL);
-          j++;
+          int matchingPos = getMatchingBracketPosition(id, j, BRANCH_START_SYMBOL, BRANCH_END_SYMBOL);
 
           if (matchingPos == -1) {
             throw new NotationException(
                 "Invalid Polymer Notation: Could not find matching bracket");
           }
 
-          base = id.substring(j, matchingPos);
-
-          if (base.length() == 1) {
-            symbol = base;
+          if (matchingPos - j == 2) {
+            symbol = String.valueOf(id.charAt(j + 1));
           } else {
+            base = id.substring(j + 1, matchingPos);
             Monomer monomer = MethodsMonomerUtils.getMonomer("RNA", base, "");
             if (null == monomer.getNaturalAnalog()) {
               symbol = "X";
@@ -340,7 +375,7 @@ public class NucleotideParser {
    * @throws org.helm.notation2.parser.exceptionparser.NotationException
    */
   public static int getMonomerCountForRNA(String notation) throws org.helm.notation2.parser.exceptionparser.NotationException {
-    return getMonomerIDListFromNucleotide(notation).size();
+    return scanNucleotide(notation, null);
   }
 
   /**
@@ -358,7 +393,7 @@ public class NucleotideParser {
    * @throws org.helm.notation2.parser.exceptionparser.NotationException
    */
   public static boolean validateSimpleNotationForRNA(String polymerNotation) throws org.helm.notation2.parser.exceptionparser.NotationException {
-    getMonomerIDListFromNucleotide(polymerNotation);
+    scanNucleotide(polymerNotation, null);
     return true;
   }
 
@@ -389,4 +424,62 @@ public class NucleotideParser {
     }
   }
 
+  /**
+   * method to find the base of a nucleotide notation, e.g. 2 for R(A)P
+   *
+   * @param notation nucleotide notation
+   * @return position of the base among the monomers of the nucleotide,
+   *         starting with 1; 0 if the nucleotide has no base
+   * @throws NotationException if the notation is not valid
+   */
+  public static int getBasePosition(CharSequence notation) throws NotationException {
+    final int[] position = new int[2];
+    scanNucleotide(notation, new MonomerSpanHandler() {
+      @Override
+      public void monomerFound(CharSequence nucleotide, int start, int end) {
+        position[1]++;
+        /* the base is the first branch monomer, e.g. (A) or ([5meC]) */
+        if (position[0] == 0 && start > 0 && (nucleotide.charAt(start - 1) == BRANCH_START_SYMBOL
+            || (start > 1 && nucleotide.charAt(start - 1) == MODIFICATION_START_SYMBOL
+                && nucleotide.charAt(start - 2) == BRANCH_START_SYMBOL))) {
+          position[0] = position[1];
+        }
+      }
+    });
+    return position[0];
+  }
+
+  /**
+   * method to find the closing bracket of the bracket at the given position
+   * without copying the notation
+   *
+   * @param notation notation
+   * @param position position of the opening bracket
+   * @param openingBracket opening bracket
+   * @param closingBracket closing bracket
+   * @return position of the matching closing bracket, -1 if there is none
+   */
+  public static int getMatchingBracketPosition(CharSequence notation,
+      int position, char openingBracket, char closingBracket) {
+    int last = notation.length() - 1;
+    if (position < last && notation.charAt(position) == openingBracket) {
+      int currentPosition = position;
+      int openingBracketCount = 1;
+
+      do {
+        char currentCharacter = notation.charAt(++currentPosition);
+        if (currentCharacter == openingBracket) {
+          openingBracketCount++;
+        } else if (currentCharacter == closingBracket) {
+          openingBracketCount--;
+        }
+      } while (openingBracketCount > 0 && currentPosition < last);
+
+      if (notation.charAt(currentPosition) == closingBracket) {
+        return currentPosition;
+      }
+    }
+    return -1;
+  }
+
 }
@@ -25,6 +25,7 @@ package org.helm.notation2.tools;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -62,7 +63,7 @@ public class RNAUtils {
   /** The Logger for this class */
   private static final Logger LOG = LoggerFactory.getLogger(RNAUtils.class);
 
-  private static Map<String, String> complementMap = null;
+  private static final Map<String, String> complementMap = initComplementMap();
 
   public static final int MINUMUM_MATCH_FRAGMENT_LENGTH = 2;
 
@@ -76,14 +77,24 @@ public class RNAUtils {
   /**
    * initialize Map to get the complement of each nucleotide
    */
-  private static void initComplementMap() {
-    complementMap = new HashMap<String, String>();
-    complementMap.put("A", "U");
-    complementMap.put("G", "C");
-    complementMap.put("C", "G");
-    complementMap.put("U", "A");
-    complementMap.put("T", "A");
-    complementMap.put("X", "X");
+  private static Map<String, String> initComplementMap() {
+    Map<String, String> map = new HashMap<String, String>();
+    map.put("A", "U");
+    map.put("G", "C");
+    map.put("C", "G");
+    map.put("U", "A");
+    map.put("T", "A");
+    map.put("X", "X");
+    return Collections.unmodifiableMap(map);
+  }
+
+  /**
+   * method to get the complement of each nucleotide
+   *
+   * @return unmodifiable map of the complements by the natural analogues
+   */
+  static Map<String, String> getComplementMap() {
+    return complementMap;
   }
 
   /**
@@ -114,7 +125,7 @@ public class RNAUtils {
   public static String getNaturalAnalogSequence(PolymerNotation polymer) throws HELM2HandledException,
       RNAUtilsException, ChemistryException {
     checkRNA(polymer);
-    return FastaFormat.generateFastaFromRNA(MethodsMonomerUtils.getListOfHandledMonomers(polymer.getListMonomers()));
+    return RnaView.of(polymer).getNaturalAnalogSequence();
   }
 
   /**
@@ -186,22 +197,31 @@ public class RNAUtils {
       shortSeq = seq1;
     }
     // replace T with U
-    longSeq = longSeq.replaceAll("T", "U");
-    shortSeq = shortSeq.replaceAll("T", "U");
+    longSeq = longSeq.replace('T', 'U');
+    shortSeq = shortSeq.replace('T', 'U');
+
+    return getMaxMatchFragment(new SuffixAutomaton(longSeq), shortSeq, minLength);
+  }
 
+  /**
+   * method to get the largest matched fragment between an already indexed
+   * long sequence and a short sequence, both with U instead of T
+   *
+   * @param longSeq SuffixAutomaton of the long sequence
+   * @param shortSeq short sequence
+   * @param minLength minimum fragment length
+   * @return largest match fragment, the first one of the short sequence
+   */
+  static String getMaxMatchFragment(SuffixAutomaton longSeq, String shortSeq, int minLength) {
     int min = MINUMUM_MATCH_FRAGMENT_LENGTH;
     if (minLength > min) {
       min = minLength;
     }
 
-    for (int len = shortSeq.length(); len > min; len--) {
-      for (int i = 0; i <= shortSeq.length() - len; i++) {
-        String tmp = shortSeq.substring(i, i + len);
-
-        if (longSeq.contains(tmp)) {
-          return tmp;
-        }
-      }
+    /* longest fragment, the first one of the short sequence wins */
+    int[] match = longSeq.getLongestCommonSubstring(shortSeq);
+    if (match[1] > min) {
+      return shortSeq.substring(match[0], match[0] + match[1]);
     }
 
     return "";
@@ -384,13 +404,7 @@ public class RNAUtils {
    * @throws ChemistryException
    */
   private static StringBuilder generateReverseComplement(PolymerNotation polymer) throws HELM2HandledException, RNAUtilsException, org.helm.notation2.exception.NotationException, ChemistryException {
-    initComplementMap();
-    String sequence = getNaturalAnalogSequence(polymer);
-    StringBuilder sb = new StringBuilder();
-    for (char c : sequence.toCharArray()) {
-      sb.append(complementMap.get(String.valueOf(c)));
-    }
-    return sb.reverse();
+    return new StringBuilder(generateComplement(getNaturalAnalogSequence(polymer), true));
   }
 
   /**
@@ -404,7 +418,6 @@ public class RNAUtils {
    * @throws ChemistryException if the Chemistry Engine can not be initialized
    */
   private static StringBuilder generateInverse(PolymerNotation polymer) throws HELM2HandledException, RNAUtilsException, org.helm.notation2.exception.NotationException, ChemistryException {
-    initComplementMap();
     String sequence = getNaturalAnalogSequence(polymer);
     StringBuilder sb = new StringBuilder(sequence);
     return sb.reverse();
@@ -420,13 +433,7 @@ public class RNAUtils {
    * @throws ChemistryException if the Chemistry Engine can not be initialized
    */
   private static StringBuilder generateComplement(PolymerNotation polymer) throws HELM2HandledException, RNAUtilsException, ChemistryException {
-    initComplementMap();
-    String sequence = getNaturalAnalogSequence(polymer);
-    StringBuilder sb = new StringBuilder();
-    for (char c : sequence.toCharArray()) {
-      sb.append(complementMap.get(String.valueOf(c)));
-    }
-    return sb;
+    return new StringBuilder(generateComplement(getNaturalAnalogSequence(polymer), false));
   }
 
   /**
@@ -566,14 +573,7 @@ public class RNAUtils {
    */
   public static String getSequence(PolymerNotation one) throws RNAUtilsException, HELM2HandledException, ChemistryException {
     checkRNA(one);
-
-    List<Nucleotide> nucleotideList = getNucleotideList(one);
-    StringBuffer sb = new StringBuffer();
-    for (int i = 0; i < nucleotideList.size(); i++) {
-      sb.append(nucleotideList.get(i).getNaturalAnalog());
-    }
-    return sb.toString();
-
+    return RnaView.of(one).getSequence();
   }
 
   /**
@@ -587,7 +587,7 @@ public class RNAUtils {
    */
   public static String getModifiedNucleotideSequence(PolymerNotation polymer) throws RNAUtilsException, HELM2HandledException, ChemistryException {
     checkRNA(polymer);
-    List<Nucleotide> nucleotides = getNucleotideList(polymer);
+    List<Nucleotide> nucleotides = RnaView.of(polymer).getNucleotides();
     StringBuilder sb = new StringBuilder();
     for (Nucleotide nucleotide : nucleotides) {
       sb.append(nucleotide.getSymbol());
@@ -596,6 +596,22 @@ public class RNAUtils {
 
   }
 
+  /**
+   * method to get the fingerprint of the given PolymerNotation, e.g. to find
+   * duplicates; it covers base, sugar, linker and their modifications and is
+   * computed without building the sequence
+   *
+   * @param polymer PolymerNotation
+   * @return 128 bit fingerprint
+   * @throws RNAUtilsException if the polymer is not rna or dna or a nucleotide
+   *           can not be read
+   * @throws HELM2HandledException if HELM2 features are involved
+   */
+  public static RnaFingerprint getFingerprint(PolymerNotation polymer) throws RNAUtilsException, HELM2HandledException {
+    checkRNA(polymer);
+    return RnaFingerprint.of(polymer.getPolymerElements().getListOfElements());
+  }
+
   /**
    * method to hybridize two given PolymerNotations together
    *
@@ -612,91 +628,117 @@ public class RNAUtils {
    */
   public static List<ConnectionNotation> hybridize(PolymerNotation one, PolymerNotation two) throws RNAUtilsException, NotationException, HELM2HandledException, JDOMException, IOException,
       org.helm.notation2.exception.NotationException, ChemistryException {
-    initComplementMap();
     checkRNA(one);
     checkRNA(two);
 
-    List<ConnectionNotation> connections = new ArrayList<ConnectionNotation>();
-    ConnectionNotation connection;
-    String seq1 = RNAUtils.getSequence(one).replaceAll("T", "U");
-    String seq2 = RNAUtils.getSequence(two).replaceAll("T", "U");
-
-    char[] chars = seq2.toCharArray();
-    StringBuffer sb = new StringBuffer();
-    for (int i = chars.length; i > 0; i--) {
-      String symbol = String.valueOf(chars[i - 1]);
-      String compSymbol = complementMap.get(symbol);
-      sb.append(compSymbol);
+    RnaView view1 = RnaView.of(one);
+    RnaView view2 = RnaView.of(two);
+    int[] match = getMatch(view1, view2);
+    if (match[2] > 0) {
+      return getBasePairs(one, view1, match[0], two, view2, match[1], match[2]);
     }
-    String compSeq2 = sb.toString();
+
+    return new ArrayList<ConnectionNotation>();
+  }
+
+  /**
+   * method to find the largest fragment of the first polymer that is
+   * complementary to the second one, as it is hybridized
+   *
+   * @param view1 RnaView of the first polymer
+   * @param view2 RnaView of the second polymer
+   * @return first matched nucleotide of the first and of the second polymer and
+   *         the number of matched nucleotides, which is 0 if there is no match
+   * @throws NotationException
+   */
+  static int[] getMatch(RnaView view1, RnaView view2) throws NotationException {
+    String seq1 = view1.getSequence().replace('T', 'U');
+    String seq2 = view2.getSequence();
+
+    String compSeq2 = view2.getReverseComplement();
     String maxSeqMatch = getMaxMatchFragment(seq1, compSeq2);
     int seqMatchLength = maxSeqMatch.length();
-    int seq1NucStart = -1;
-    int seq1MonomerStart = 0;
-    int seq2NucStart = -1;
-    int seq2MonomerStart = 0;
-
-    List<Nucleotide> seq1NucList = RNAUtils.getNucleotideList(one);
-    List<Nucleotide> seq2NucList = RNAUtils.getNucleotideList(two);
 
     if (seqMatchLength > 0) {
-      // get the starting monomer position for sequence 1
-      seq1NucStart = seq1.indexOf(maxSeqMatch);
-      for (int i = 0; i < seq1NucStart; i++) {
-        Nucleotide nuc = seq1NucList.get(i);
-        int monomerCount = NucleotideParser.getMonomerCountForRNA(nuc.getNotation());
-        seq1MonomerStart = seq1MonomerStart + monomerCount;
-      }
+      // get the starting nucleotide for sequence 1
+      int seq1NucStart = seq1.indexOf(maxSeqMatch);
 
-      // get the starting monomer position for sequence 2
+      // get the starting nucleotide for sequence 2
       int compSeq2NucStart = compSeq2.indexOf(maxSeqMatch);
-      seq2NucStart = seq2.length() - seqMatchLength - compSeq2NucStart;
-      for (int i = 0; i < seq2NucStart; i++) {
-        Nucleotide nuc = seq2NucList.get(i);
-        int monomerCount = NucleotideParser.getMonomerCountForRNA(nuc.getNotation());
-        seq2MonomerStart = seq2MonomerStart + monomerCount;
-      }
+      int seq2NucStart = seq2.length() - seqMatchLength - compSeq2NucStart;
 
-      // build the matching monomer position
-      for (int i = 0; i < seqMatchLength; i++) {
+      return new int[] {seq1NucStart, seq2NucStart, seqMatchLength};
+    }
 
-        Nucleotide nuc1 = seq1NucList.get(i + seq1NucStart);
-        if (null == nuc1.getBaseMonomer()) {
-          throw new NotationException(
-              "Nucleotide without base cannot be hybridized with others");
-        }
-        if (i == 0) {
-          seq1MonomerStart = seq1MonomerStart + 2;
-        } else {
-          seq1MonomerStart = seq1MonomerStart + 3;
-        }
+    return new int[] {0, 0, 0};
+  }
 
-        Nucleotide nuc2 = seq2NucList.get(i + seq2NucStart);
-        if (null == nuc2.getBaseMonomer()) {
-          throw new NotationException(
-              "Nucleotide without base cannot be hybridized with others");
-        }
-        if (i == 0) {
-          seq2MonomerStart = seq2MonomerStart + 2;
-        } else {
-          seq2MonomerStart = seq2MonomerStart + 3;
-        }
-      }
+  /**
+   * method to get the reverse complement of a natural analogue sequence
+   *
+   * @param sequence single letter sequence, with U instead of T
+   * @return reverse complement sequence
+   */
+  static String getReverseComplement(String sequence) {
+    return generateComplement(sequence, true);
+  }
 
-      // what if there is an X with two monomers in the middle? exception
-      // should have been thrown
-      // now build the base pair string, offset by 3
-      for (int i = seqMatchLength; i > 0; i--) {
-        int seq1MonomerPos = seq1MonomerStart - (i - 1) * 3;
-        int seq2MonomerPos = seq2MonomerStart - (seqMatchLength - i)
-            * 3;
+  /**
+   * method to generate the complement of a natural analogue sequence; it is
+   * built on the NucleotideCodes, only sequences with other characters are
+   * looked up in the complement map
+   *
+   * @param sequence single letter sequence
+   * @param reverse true for the reverse complement
+   * @return complement sequence
+   */
+  private static String generateComplement(String sequence, boolean reverse) {
+    byte[] codes = NucleotideCodes.encode(sequence);
+    if (codes != null) {
+      return NucleotideCodes.decode(NucleotideCodes.complement(codes, reverse));
+    }
+    StringBuilder sb = new StringBuilder(sequence.length());
+    for (int i = 0; i < sequence.length(); i++) {
+      char c = sequence.charAt(reverse ? sequence.length() - 1 - i : i);
+      sb.append(complementMap.get(String.valueOf(c)));
+    }
+    return sb.toString();
+  }
 
-        String details = seq1MonomerPos + ":pair-" + seq2MonomerPos + ":pair";
-        connection = new ConnectionNotation(one.getPolymerID(), two.getPolymerID(), details);
-        connections.add(connection);
+  /**
+   * method to build the base pairs of a matched fragment of two polymers: the
+   * first nucleotide of the fragment of polymer one pairs with the last
+   * nucleotide of the fragment of polymer two. The positions of the bases are
+   * taken from the RnaViews, so nucleotides without phosphate or with
+   * additional monomers are paired correctly.
+   *
+   * @param one first PolymerNotation
+   * @param view1 RnaView of the first polymer
+   * @param seq1NucStart first matched nucleotide of the first polymer
+   * @param two second PolymerNotation
+   * @param view2 RnaView of the second polymer
+   * @param seq2NucStart first matched nucleotide of the second polymer
+   * @param seqMatchLength number of matched nucleotides
+   * @return List of ConnectionNotations
+   * @throws NotationException if a matched nucleotide has no base
+   */
+  static List<ConnectionNotation> getBasePairs(PolymerNotation one, RnaView view1, int seq1NucStart,
+      PolymerNotation two, RnaView view2, int seq2NucStart, int seqMatchLength) throws NotationException {
+    for (int i = 0; i < seqMatchLength; i++) {
+      if (null == view1.getNucleotides().get(i + seq1NucStart).getBaseMonomer()
+          || null == view2.getNucleotides().get(i + seq2NucStart).getBaseMonomer()) {
+        throw new NotationException(
+            "Nucleotide without base cannot be hybridized with others");
       }
     }
 
+    List<ConnectionNotation> connections = new ArrayList<ConnectionNotation>(seqMatchLength);
+    for (int i = 0; i < seqMatchLength; i++) {
+      int seq1MonomerPos = view1.getBasePosition(seq1NucStart + i);
+      int seq2MonomerPos = view2.getBasePosition(seq2NucStart + seqMatchLength - 1 - i);
+      String details = seq1MonomerPos + ":pair-" + seq2MonomerPos + ":pair";
+      connections.add(new ConnectionNotation(one.getPolymerID(), two.getPolymerID(), details));
+    }
     return connections;
   }
 
@@ -724,8 +766,8 @@ public class RNAUtils {
    * @throws ChemistryException
    */
   public static String getNucleotideSequence(PolymerNotation polymer) throws NotationException, RNAUtilsException, HELM2HandledException, NucleotideLoadingException, ChemistryException {
-
-    List<Nucleotide> nucleotides = getNucleotideList(polymer);
+    checkRNA(polymer);
+    List<Nucleotide> nucleotides = RnaView.of(polymer).getNucleotides();
     StringBuffer sb = new StringBuffer();
     int count = 0;
     Map<String, String> reverseNucMap = NucleotideFactory.getInstance().getReverseNucleotideTemplateMap();
@@ -764,7 +806,8 @@ public class RNAUtils {
    * method to get all nucleotides for one polymer
    *
    * @param polymer PolymerNotation
-   * @return List of nucleotides of the polmyer
+   * @return List of nucleotides of the polmyer, the nucleotides are copies of
+   *         the cached ones and can be changed by the caller
    * @throws RNAUtilsException if the polymer is not rna or dna or the
    *           nucleotide can not be read
    * @throws HELM2HandledException if the polymer contains HELM2 features
@@ -772,30 +815,59 @@ public class RNAUtils {
    *
    */
   public static List<Nucleotide> getNucleotideList(PolymerNotation polymer) throws RNAUtilsException, HELM2HandledException, ChemistryException {
+    checkRNA(polymer);
+    List<Nucleotide> nucleotides = new ArrayList<Nucleotide>();
+    for (Nucleotide nucleotide : RnaView.of(polymer).getNucleotides()) {
+      nucleotides.add(new Nucleotide(nucleotide));
+    }
+    return nucleotides;
+  }
+
+  /**
+   * method to read all nucleotides of one polymer, without the RnaView
+   *
+   * @param polymer PolymerNotation
+   * @return List of nucleotides of the polmyer
+   * @throws RNAUtilsException if the polymer is not rna or dna or the
+   *           nucleotide can not be read
+   * @throws HELM2HandledException if the polymer contains HELM2 features
+   * @throws ChemistryException
+   */
+  static List<Nucleotide> readNucleotideList(PolymerNotation polymer) throws RNAUtilsException, HELM2HandledException, ChemistryException {
     checkRNA(polymer);
     List<Nucleotide> nucleotides = new ArrayList<Nucleotide>();
     /* check for HELM2Elements */
     List<MonomerNotation> monomerNotations = polymer.getPolymerElements().getListOfElements();
     for (int i = 0; i < monomerNotations.size(); i++) {
-      MonomerNotation monomerNotation = monomerNotations.get(i);
-      if ((!(monomerNotation instanceof MonomerNotationUnitRNA)) || Integer.parseInt(monomerNotation.getCount()) != 1) {
-        LOG.info("MonomerNotation contains HELM2 Elements " + monomerNotation);
-        throw new HELM2HandledException("HELM2 Elements are involved");
-      }
-      try {
-        boolean last = false;
-        if (i == monomerNotations.size() - 1) {
-          last = true;
-        }
-        nucleotides.add(NucleotideParser.convertToNucleotide(monomerNotation.getUnit(), last));
-      } catch (MonomerException | NucleotideLoadingException | NotationException | org.helm.notation2.exception.NotationException e) {
-        e.printStackTrace();
-        throw new RNAUtilsException("Nucleotide can not be read " + e.getMessage());
-      }
+      nucleotides.add(readNucleotide(monomerNotations.get(i), i == monomerNotations.size() - 1));
     }
     return nucleotides;
   }
 
+  /**
+   * method to read the nucleotide of one MonomerNotation of a rna/dna polymer
+   *
+   * @param monomerNotation MonomerNotation
+   * @param last true if it is the last MonomerNotation of the polymer
+   * @return Nucleotide
+   * @throws RNAUtilsException if the nucleotide can not be read
+   * @throws HELM2HandledException if HELM2 features are involved
+   * @throws ChemistryException if the Chemistry Engine can not be initialized
+   */
+  static Nucleotide readNucleotide(MonomerNotation monomerNotation, boolean last) throws RNAUtilsException,
+      HELM2HandledException, ChemistryException {
+    if ((!(monomerNotation instanceof MonomerNotationUnitRNA)) || Integer.parseInt(monomerNotation.getCount()) != 1) {
+      LOG.info("MonomerNotation contains HELM2 Elements " + monomerNotation);
+      throw new HELM2HandledException("HELM2 Elements are involved");
+    }
+    try {
+      return NucleotideParser.convertToNucleotide(monomerNotation.getUnit(), last);
+    } catch (MonomerException | NucleotideLoadingException | NotationException | org.helm.notation2.exception.NotationException e) {
+      e.printStackTrace();
+      throw new RNAUtilsException("Nucleotide can not be read " + e.getMessage());
+    }
+  }
+
   /**
    * method to get the trimmed nucleotide sequence
    *
@@ -807,7 +879,7 @@ public class RNAUtils {
    */
   public static String getTrimmedNucleotideSequence(PolymerNotation polymer) throws RNAUtilsException, HELM2HandledException, ChemistryException {
     checkRNA(polymer);
-    List<Nucleotide> list = getNucleotideList(polymer);
+    List<Nucleotide> list = RnaView.of(polymer).getNucleotides();
 
     int start = 0;
     Nucleotide na = list.get(start);
@@ -0,0 +1,186 @@
+/**
+ * *****************************************************************************
+ * Copyright C 2015, The Pistoia Alliance
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *****************************************************************************
+ */
+package org.helm.notation2.tools;
+
+import java.util.List;
+
+import org.helm.notation2.exception.HELM2HandledException;
+import org.helm.notation2.exception.RNAUtilsException;
+import org.helm.notation2.parser.exceptionparser.NotationException;
+import org.helm.notation2.parser.notation.polymer.MonomerNotation;
+import org.helm.notation2.parser.notation.polymer.MonomerNotationUnitRNA;
+
+/**
+ * RnaFingerprint, a 128 bit fingerprint of a rna/dna polymer. It covers every
+ * monomer of every nucleotide: sugar, base and linker with their ids, so
+ * modified monomers give another fingerprint than their natural analogues.
+ * Annotations are not covered. The fingerprint depends only on the notation,
+ * it is the same in every run and can be stored; it is a hash, not a
+ * cryptographic one. Fingerprints are immutable and can be used as keys of
+ * HashMaps.
+ */
+public final class RnaFingerprint {
+
+  /* markers outside of the char range, they separate the ids */
+  private static final int ELEMENT = 0x10000;
+
+  private static final int MONOMER = 0x10001;
+
+  private static final int BRANCH_MONOMER = 0x10002;
+
+  private static final long C1 = 0x87c37b91114253d5L;
+
+  private static final long C2 = 0x4cf5ad432745937fL;
+
+  private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  private final long high;
+
+  private final long low;
+
+  private RnaFingerprint(long high, long low) {
+    this.high = high;
+    this.low = low;
+  }
+
+  /**
+   * method to compute the fingerprint of the elements of a rna/dna polymer
+   * in one pass over their notations
+   *
+   * @param elements elements of the polymer
+   * @return fingerprint
+   * @throws HELM2HandledException if HELM2 features are involved
+   * @throws RNAUtilsException if a nucleotide can not be read
+   */
+  static RnaFingerprint of(List<MonomerNotation> elements) throws HELM2HandledException, RNAUtilsException {
+    Hasher hasher = new Hasher();
+    for (MonomerNotation element : elements) {
+      if ((!(element instanceof MonomerNotationUnitRNA)) || Integer.parseInt(element.getCount()) != 1) {
+        throw new HELM2HandledException("HELM2 Elements are involved");
+      }
+      hasher.add(ELEMENT);
+      try {
+        NucleotideParser.scanNucleotide(element.getUnit(), hasher);
+      } catch (NotationException e) {
+        throw new RNAUtilsException("Nucleotide can not be read " + e.getMessage());
+      }
+    }
+    return hasher.finish();
+  }
+
+  /**
+   * @return upper 64 bits of the fingerprint
+   */
+  public long getHigh() {
+    return high;
+  }
+
+  /**
+   * @return lower 64 bits of the fingerprint
+   */
+  public long getLow() {
+    return low;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof RnaFingerprint)) {
+      return false;
+    }
+    RnaFingerprint other = (RnaFingerprint) obj;
+    return high == other.high && low == other.low;
+  }
+
+  @Override
+  public int hashCode() {
+    /* the bits are already mixed */
+    return (int) low;
+  }
+
+  /**
+   * @return fingerprint as 32 hexadecimal digits
+   */
+  @Override
+  public String toString() {
+    return String.format("%016x%016x", high, low);
+  }
+
+  /**
+   * two lanes over the ids: FNV-1a and a multiply-rotate lane, mixed at the
+   * end with the finalizer of MurmurHash3
+   */
+  private static final class Hasher implements NucleotideParser.MonomerSpanHandler {
+
+    private long h1 = FNV_OFFSET;
+
+    private long h2 = C2;
+
+    private long length;
+
+    private void add(int value) {
+      h1 = (h1 ^ value) * FNV_PRIME;
+      h2 = Long.rotateLeft(h2 ^ (value * C1), 31) * C2;
+      length++;
+    }
+
+    @Override
+    public void monomerFound(CharSequence notation, int start, int end) {
+      /* the base is in round brackets, its id may be in square brackets */
+      int before = start - 1;
+      if (before >= 0 && notation.charAt(before) == '[') {
+        before--;
+      }
+      add((before >= 0 && notation.charAt(before) == '(') ? BRANCH_MONOMER : MONOMER);
+      for (int i = start; i < end; i++) {
+        add(notation.charAt(i));
+      }
+    }
+
+    private RnaFingerprint finish() {
+      long a = h1 ^ length;
+      long b = h2 ^ length;
+      a += b;
+      b += a;
+      a = mix(a);
+      b = mix(b);
+      a += b;
+      b += a;
+      return new RnaFingerprint(a, b);
+    }
+
+    private static long mix(long k) {
+      k ^= k >>> 33;
+      k *= 0xff51afd7ed558ccdL;
+      k ^= k >>> 33;
+      k *= 0xc4ceb9fe1a85ec53L;
+      k ^= k >>> 33;
+      return k;
+    }
+  }
+}
@@ -0,0 +1,334 @@
+/**
+ * *****************************************************************************
+ * Copyright C 2015, The Pistoia Alliance
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *****************************************************************************
+ */
+package org.helm.notation2.tools;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.helm.notation2.MonomerFactory;
+import org.helm.notation2.MonomerStore;
+import org.helm.notation2.Nucleotide;
+import org.helm.notation2.exception.ChemistryException;
+import org.helm.notation2.exception.HELM2HandledException;
+import org.helm.notation2.exception.MonomerLoadingException;
+import org.helm.notation2.exception.RNAUtilsException;
+import org.helm.notation2.parser.exceptionparser.NotationException;
+import org.helm.notation2.parser.notation.polymer.MonomerNotation;
+import org.helm.notation2.parser.notation.polymer.PolymerNotation;
+
+/**
+ * RnaView, the nucleotides of a rna/dna polymer together with everything
+ * derived from them: the natural analogue sequences, the monomer positions of
+ * each nucleotide and its base and the modification flags. A view is computed
+ * once per polymer and kept as long as the polymer is used; it is computed
+ * again if an element of the polymer was replaced, added or removed, the count
+ * or unit of an element was changed or the MonomerStore changed. If elements
+ * were only replaced, the unchanged elements are taken from the previous view
+ * and only the replaced ones are read again. The view is immutable, the
+ * nucleotides must not be changed.
+ */
+public final class RnaView {
+
+  /* the views must not reference their polymers, otherwise they are never released */
+  private static final Map<PolymerNotation, RnaView> views =
+      Collections.synchronizedMap(new WeakHashMap<PolymerNotation, RnaView>());
+
+  private final MonomerNotation[] elements;
+
+  /* count and unit of each element, they can be changed in place */
+  private final String[] counts;
+
+  private final String[] units;
+
+  private final MonomerStore monomerStore;
+
+  private final int storeVersion;
+
+  private final List<Nucleotide> nucleotides;
+
+  private final String sequence;
+
+  /* NucleotideCodes of the sequence, null if a letter has no code */
+  private final byte[] codes;
+
+  /* reverse complement of the sequence, with U instead of T */
+  private final String reverseComplement;
+
+  private final String naturalAnalogSequence;
+
+  /* natural analogue sequence of each element */
+  private final String[] naturalAnalogs;
+
+  private final int[] monomerPositions;
+
+  private final int[] basePositions;
+
+  private final boolean[] modified;
+
+  private final boolean modification;
+
+  private RnaView(PolymerNotation polymer, MonomerStore monomerStore, RnaView previous) throws RNAUtilsException,
+      HELM2HandledException, ChemistryException {
+    List<MonomerNotation> elementList = polymer.getPolymerElements().getListOfElements();
+    this.elements = elementList.toArray(new MonomerNotation[elementList.size()]);
+    this.counts = new String[elements.length];
+    this.units = new String[elements.length];
+    for (int i = 0; i < elements.length; i++) {
+      counts[i] = elements[i].getCount();
+      units[i] = elements[i].getUnit();
+    }
+    this.monomerStore = monomerStore;
+    this.storeVersion = monomerStore.getVersion();
+
+    /* elements of the previous view which are still in place */
+    boolean[] reused = new boolean[elements.length];
+    if (previous != null && previous.elements.length == elements.length && previous.monomerStore == monomerStore
+        && previous.storeVersion == storeVersion) {
+      for (int i = 0; i < elements.length; i++) {
+        reused[i] = previous.isUnchanged(i, elements[i]);
+      }
+    }
+
+    List<Nucleotide> list;
+    if (previous == null) {
+      list = RNAUtils.readNucleotideList(polymer);
+    } else {
+      /* the polymer was already checked for the previous view */
+      list = new ArrayList<Nucleotide>(elements.length);
+      for (int i = 0; i < elements.length; i++) {
+        list.add(reused[i] ? previous.nucleotides.get(i) : RNAUtils.readNucleotide(elements[i], i == elements.length - 1));
+      }
+    }
+    this.nucleotides = Collections.unmodifiableList(list);
+
+    this.naturalAnalogs = new String[elements.length];
+    StringBuilder analogs = new StringBuilder(elements.length);
+    for (int i = 0; i < elements.length; i++) {
+      naturalAnalogs[i] = reused[i] ? previous.naturalAnalogs[i]
+          : FastaFormat.generateFastaFromRNA(MethodsMonomerUtils.getListOfHandledMonomers(elements[i], i));
+      analogs.append(naturalAnalogs[i]);
+    }
+    this.naturalAnalogSequence = analogs.toString();
+
+    StringBuilder sb = new StringBuilder(nucleotides.size());
+    this.monomerPositions = new int[nucleotides.size() + 1];
+    this.basePositions = new int[nucleotides.size()];
+    this.modified = new boolean[nucleotides.size()];
+    boolean any = false;
+    for (int i = 0; i < nucleotides.size(); i++) {
+      Nucleotide nucleotide = nucleotides.get(i);
+      sb.append(nucleotide.getNaturalAnalog(monomerStore));
+      if (reused[i]) {
+        monomerPositions[i + 1] = monomerPositions[i] + previous.monomerPositions[i + 1] - previous.monomerPositions[i];
+        int base = previous.basePositions[i];
+        basePositions[i] = (base == 0) ? 0 : monomerPositions[i] + base - previous.monomerPositions[i];
+        modified[i] = previous.modified[i];
+      } else {
+        try {
+          monomerPositions[i + 1] = monomerPositions[i] + NucleotideParser.getMonomerCountForRNA(nucleotide.getNotation());
+          int base = NucleotideParser.getBasePosition(nucleotide.getNotation());
+          basePositions[i] = (base == 0) ? 0 : monomerPositions[i] + base;
+        } catch (NotationException e) {
+          throw new RNAUtilsException("Nucleotide can not be read " + e.getMessage());
+        }
+        modified[i] = nucleotide.isModified();
+      }
+      any |= modified[i];
+    }
+    this.sequence = sb.toString();
+    this.codes = NucleotideCodes.encode(sequence);
+    this.reverseComplement = (codes != null) ? NucleotideCodes.decode(NucleotideCodes.complement(codes, true))
+        : RNAUtils.getReverseComplement(sequence.replace('T', 'U'));
+    this.modification = any;
+  }
+
+  /**
+   * method to get the view of a rna/dna polymer
+   *
+   * @param polymer PolymerNotation
+   * @return RnaView
+   * @throws RNAUtilsException if the polymer is not rna or dna or the
+   *           nucleotides can not be read
+   * @throws HELM2HandledException if the polymer contains HELM2 features
+   * @throws ChemistryException if the Chemistry Engine can not be initialized
+   */
+  public static RnaView of(PolymerNotation polymer) throws RNAUtilsException, HELM2HandledException,
+      ChemistryException {
+    MonomerStore monomerStore;
+    try {
+      monomerStore = MonomerFactory.getInstance().getMonomerStore();
+    } catch (MonomerLoadingException e) {
+      throw new RNAUtilsException("Monomers can not be loaded " + e.getMessage());
+    }
+    RnaView view = views.get(polymer);
+    if (view == null || !view.isValid(polymer, monomerStore)) {
+      view = new RnaView(polymer, monomerStore, view);
+      views.put(polymer, view);
+    }
+    return view;
+  }
+
+  private boolean isValid(PolymerNotation polymer, MonomerStore store) {
+    if (store != monomerStore || store.getVersion() != storeVersion) {
+      return false;
+    }
+    List<MonomerNotation> elementList = polymer.getPolymerElements().getListOfElements();
+    if (elementList.size() != elements.length) {
+      return false;
+    }
+    for (int i = 0; i < elements.length; i++) {
+      if (!isUnchanged(i, elementList.get(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private boolean isUnchanged(int i, MonomerNotation element) {
+    return element == elements[i] && counts[i].equals(element.getCount()) && units[i].equals(element.getUnit());
+  }
+
+  /**
+   * method to get the nucleotides, they are shared by all users of the view
+   * and must not be changed; {@link RNAUtils#getNucleotideList} returns copies
+   *
+   * @return unmodifiable List of nucleotides
+   */
+  public List<Nucleotide> getNucleotides() {
+    return nucleotides;
+  }
+
+  /**
+   * method to get the number of nucleotides
+   *
+   * @return number of nucleotides
+   */
+  public int getNucleotideCount() {
+    return nucleotides.size();
+  }
+
+  /**
+   * method to get the natural analogue of each nucleotide, X if a nucleotide
+   * has no natural analogue
+   *
+   * @return sequence, one letter per nucleotide
+   */
+  public String getSequence() {
+    return sequence;
+  }
+
+  /**
+   * method to get the reverse complement of the natural analogue of each
+   * nucleotide, computed once from the NucleotideCodes of the sequence
+   *
+   * @return reverse complement sequence, with U instead of T
+   */
+  String getReverseComplement() {
+    return reverseComplement;
+  }
+
+  /**
+   * method to get the natural analogue sequence of the bases
+   *
+   * @return natural analogue sequence
+   */
+  public String getNaturalAnalogSequence() {
+    return naturalAnalogSequence;
+  }
+
+  /**
+   * method to get the number of monomers before a nucleotide
+   *
+   * @param nucleotide position of the nucleotide, starting with 0; the
+   *          number of nucleotides gives the number of all monomers
+   * @return number of monomers before this nucleotide
+   */
+  public int getMonomerPosition(int nucleotide) {
+    return monomerPositions[nucleotide];
+  }
+
+  /**
+   * method to get the nucleotide of a monomer, by a binary search over the
+   * monomer positions of the nucleotides
+   *
+   * @param monomer position of the monomer in the polymer, starting with 1
+   * @return position of the nucleotide containing the monomer, starting with
+   *         0; -1 if the polymer has no such monomer
+   */
+  public int getNucleotideIndex(int monomer) {
+    if (monomer < 1 || monomer > getMonomerCount()) {
+      return -1;
+    }
+    int index = Arrays.binarySearch(monomerPositions, monomer - 1);
+    return (index >= 0) ? index : -index - 2;
+  }
+
+  /**
+   * method to get the position of the base of a nucleotide in the polymer
+   *
+   * @param nucleotide position of the nucleotide, starting with 0
+   * @return position of the base monomer in the polymer, starting with 1; 0
+   *         if the nucleotide has no base
+   */
+  public int getBasePosition(int nucleotide) {
+    return basePositions[nucleotide];
+  }
+
+  /**
+   * method to get the number of monomers of all nucleotides
+   *
+   * @return number of monomers
+   */
+  public int getMonomerCount() {
+    return monomerPositions[nucleotides.size()];
+  }
+
+  /**
+   * method to check if a nucleotide is modified
+   *
+   * @param nucleotide position of the nucleotide, starting with 0
+   * @return true if the nucleotide is modified
+   */
+  public boolean isModified(int nucleotide) {
+    return modified[nucleotide];
+  }
+
+  /**
+   * method to check if any nucleotide is modified
+   *
+   * @return true if at least one nucleotide is modified
+   */
+  public boolean hasModification() {
+    return modification;
+  }
+
+  @Override
+  public String toString() {
+    return sequence + " " + Arrays.toString(monomerPositions);
+  }
+}
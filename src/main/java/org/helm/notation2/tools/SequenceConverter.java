@@ -24,8 +24,18 @@
 package org.helm.notation2.tools;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
+import org.helm.notation2.Monomer;
+import org.helm.notation2.MonomerFactory;
+import org.helm.notation2.MonomerStore;
 import org.helm.notation2.exception.ChemistryException;
 import org.helm.notation2.exception.FastaFormatException;
 import org.helm.notation2.exception.HELM2HandledException;
@@ -37,6 +47,8 @@ import org.helm.notation2.parser.notation.HELM2Notation;
 import org.helm.notation2.parser.notation.polymer.PeptideEntity;
 import org.helm.notation2.parser.notation.polymer.PolymerNotation;
 import org.jdom2.JDOMException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * SequenceConverter class to convert sequence into the HELM2Notation object and
@@ -46,6 +58,12 @@ import org.jdom2.JDOMException;
  */
 public final class SequenceConverter {
 
+  /** The Logger for this class */
+  private static final Logger LOG = LoggerFactory.getLogger(SequenceConverter.class);
+
+  /** number of sequences converted by one task of a batch */
+  private static final int BATCH_SIZE = 256;
+
   /**
    * Default constructor.
    */
@@ -83,18 +101,213 @@ public final class SequenceConverter {
    * @throws ChemistryException
    */
   public static HELM2Notation readRNA(String notation) throws FastaFormatException, NotationException, IOException, JDOMException, ChemistryException {
+    return readRNA(FastaConverter.getInstance(), notation);
+  }
+
+  /**
+   * method to read a rna/dna sequence with the tables of the given converter
+   * and generate a HELM2Notation object of it
+   *
+   * @param converter FastaConverter
+   * @param notation rna/dna sequence
+   * @return HELM2Notation object with the polymer RNA1
+   * @throws FastaFormatException if the rna/dna sequence is not in the right
+   *           format
+   * @throws NotationException if the notation object can not be built
+   * @throws JDOMException
+   * @throws IOException
+   */
+  static HELM2Notation readRNA(FastaConverter converter, String notation) throws FastaFormatException, NotationException, IOException, JDOMException {
     HELM2Notation helm2notation = new HELM2Notation();
     PolymerNotation polymer = new PolymerNotation("RNA1");
     if (!(FastaFormat.isNormalDirection(notation))) {
       String annotation = "3'-5'";
-      helm2notation.addPolymer(new PolymerNotation(polymer.getPolymerID(), FastaFormat.generateElementsforRNA(notation, polymer.getPolymerID()), annotation));
+      helm2notation.addPolymer(new PolymerNotation(polymer.getPolymerID(), converter.generateElementsforRNA(notation, polymer.getPolymerID()), annotation));
     } else {
-      helm2notation.addPolymer(new PolymerNotation(polymer.getPolymerID(), FastaFormat.generateElementsforRNA(notation, polymer.getPolymerID())));
+      helm2notation.addPolymer(new PolymerNotation(polymer.getPolymerID(), converter.generateElementsforRNA(notation, polymer.getPolymerID())));
     }
 
     return helm2notation;
   }
 
+  /**
+   * method to read many peptide sequences, each sequence gives its own
+   * HELM2Notation object as {@link #readPeptide(String)} does
+   *
+   * @param sequences peptide sequences
+   * @param executor ExecutorService for the conversion, null to convert on the
+   *          calling thread
+   * @return results in the order of the sequences, a sequence that can not be
+   *         converted gives a result with its error
+   * @throws FastaFormatException if the monomers can not be initialized
+   * @throws ChemistryException if the Chemistry Engine can not be initialized
+   * @throws InterruptedException if the calling thread was interrupted
+   */
+  public static List<Result> readPeptides(Iterable<String> sequences, ExecutorService executor)
+      throws FastaFormatException, ChemistryException, InterruptedException {
+    return readSequences(null, sequences, Monomer.PEPTIDE_POLYMER_TYPE, executor);
+  }
+
+  /**
+   * method to read many peptide sequences with their IDs, each sequence gives
+   * its own HELM2Notation object as {@link #readPeptide(String)} does
+   *
+   * @param sequences peptide sequences by their IDs, the iteration order is
+   *          kept
+   * @param executor ExecutorService for the conversion, null to convert on the
+   *          calling thread
+   * @return results in the order of the sequences, a sequence that can not be
+   *         converted gives a result with its error
+   * @throws FastaFormatException if the monomers can not be initialized
+   * @throws ChemistryException if the Chemistry Engine can not be initialized
+   * @throws InterruptedException if the calling thread was interrupted
+   */
+  public static List<Result> readPeptides(Map<String, String> sequences, ExecutorService executor)
+      throws FastaFormatException, ChemistryException, InterruptedException {
+    return readSequences(sequences.keySet(), sequences.values(), Monomer.PEPTIDE_POLYMER_TYPE, executor);
+  }
+
+  /**
+   * method to read many rna/dna sequences, each sequence gives its own
+   * HELM2Notation object as {@link #readRNA(String)} does
+   *
+   * @param sequences rna/dna sequences
+   * @param executor ExecutorService for the conversion, null to convert on the
+   *          calling thread
+   * @return results in the order of the sequences, a sequence that can not be
+   *         converted gives a result with its error
+   * @throws FastaFormatException if the monomers or nucleotides can not be
+   *           initialized
+   * @throws ChemistryException if the Chemistry Engine can not be initialized
+   * @throws InterruptedException if the calling thread was interrupted
+   */
+  public static List<Result> readRNAs(Iterable<String> sequences, ExecutorService executor)
+      throws FastaFormatException, ChemistryException, InterruptedException {
+    return readSequences(null, sequences, Monomer.NUCLIEC_ACID_POLYMER_TYPE, executor);
+  }
+
+  /**
+   * method to read many rna/dna sequences with their IDs, each sequence gives
+   * its own HELM2Notation object as {@link #readRNA(String)} does
+   *
+   * @param sequences rna/dna sequences by their IDs, the iteration order is
+   *          kept
+   * @param executor ExecutorService for the conversion, null to convert on the
+   *          calling thread
+   * @return results in the order of the sequences, a sequence that can not be
+   *         converted gives a result with its error
+   * @throws FastaFormatException if the monomers or nucleotides can not be
+   *           initialized
+   * @throws ChemistryException if the Chemistry Engine can not be initialized
+   * @throws InterruptedException if the calling thread was interrupted
+   */
+  public static List<Result> readRNAs(Map<String, String> sequences, ExecutorService executor)
+      throws FastaFormatException, ChemistryException, InterruptedException {
+    return readSequences(sequences.keySet(), sequences.values(), Monomer.NUCLIEC_ACID_POLYMER_TYPE, executor);
+  }
+
+  private static List<Result> readSequences(Iterable<String> ids, Iterable<String> sequences,
+      final String polymerType, ExecutorService executor)
+      throws FastaFormatException, ChemistryException, InterruptedException {
+    /* all sequences are converted with the tables of the calling thread */
+    final FastaConverter converter = FastaConverter.getInstance();
+    final List<String> idList = new ArrayList<String>();
+    final List<String> sequenceList = new ArrayList<String>();
+    Iterator<String> idIterator = (ids == null) ? null : ids.iterator();
+    for (String sequence : sequences) {
+      idList.add(idIterator == null ? null : idIterator.next());
+      sequenceList.add(sequence);
+    }
+    final Result[] results = new Result[sequenceList.size()];
+
+    if (executor == null) {
+      readSequences(converter, polymerType, idList, sequenceList, results, 0, results.length);
+      return Arrays.asList(results);
+    }
+
+    runInBatches(results.length, converter.getMonomerStore(), executor, new BatchTask() {
+      @Override
+      public void run(int from, int to) {
+        readSequences(converter, polymerType, idList, sequenceList, results, from, to);
+      }
+    });
+    return Arrays.asList(results);
+  }
+
+  /**
+   * method to run a task over a range of items in batches of
+   * {@value #BATCH_SIZE} on the executor; the MonomerStore is bound to the
+   * worker threads. The task must catch all checked exceptions itself.
+   *
+   * @param size number of items
+   * @param monomerStore MonomerStore for the worker threads
+   * @param executor ExecutorService
+   * @param task task for one batch
+   * @throws InterruptedException if the calling thread was interrupted
+   */
+  static void runInBatches(int size, final MonomerStore monomerStore, ExecutorService executor,
+      final BatchTask task) throws InterruptedException {
+    List<Future<?>> tasks = new ArrayList<Future<?>>();
+    try {
+      for (int start = 0; start < size; start += BATCH_SIZE) {
+        final int from = start;
+        final int to = Math.min(start + BATCH_SIZE, size);
+        tasks.add(executor.submit(new Runnable() {
+          @Override
+          public void run() {
+            MonomerFactory.bindMonomerStore(monomerStore);
+            try {
+              task.run(from, to);
+            } finally {
+              MonomerFactory.unbindMonomerStore();
+            }
+          }
+        }));
+      }
+      for (Future<?> future : tasks) {
+        try {
+          future.get();
+        } catch (ExecutionException e) {
+          Throwable cause = e.getCause();
+          if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+          }
+          throw (Error) cause;
+        }
+      }
+    } finally {
+      /* only effective if the batch failed */
+      for (Future<?> future : tasks) {
+        future.cancel(true);
+      }
+    }
+  }
+
+  private static void readSequences(FastaConverter converter, String polymerType, List<String> ids,
+      List<String> sequences, Result[] results, int from, int to) {
+    for (int i = from; i < to; i++) {
+      results[i] = readSequence(converter, polymerType, i, ids.get(i), sequences.get(i));
+    }
+  }
+
+  private static Result readSequence(FastaConverter converter, String polymerType, int index, String id,
+      String sequence) {
+    try {
+      HELM2Notation helm2notation;
+      if (Monomer.PEPTIDE_POLYMER_TYPE.equals(polymerType)) {
+        helm2notation = new HELM2Notation();
+        PolymerNotation polymer = new PolymerNotation(polymerType + "1");
+        helm2notation.addPolymer(new PolymerNotation(polymer.getPolymerID(), converter.generateElementsOfPeptide(sequence, polymer.getPolymerID())));
+      } else {
+        helm2notation = readRNA(converter, sequence);
+      }
+      return new Result(index, id, sequence, helm2notation, null);
+    } catch (Exception e) {
+      LOG.info("Sequence " + (id == null ? String.valueOf(index) : id) + " can not be converted: " + e.getMessage());
+      return new Result(index, id, sequence, null, e);
+    }
+  }
+
   /**
    * method to get for all rna/dnas the nucleotide sequence form an
    * HELM2Notation
@@ -192,4 +405,85 @@ public final class SequenceConverter {
     return sb.toString();
   }
 
+  /**
+   * one batch of a conversion, the items from (inclusive) to to (exclusive)
+   */
+  interface BatchTask {
+
+    void run(int from, int to);
+  }
+
+  /**
+   * Result of one sequence of a batch
+   */
+  public static final class Result {
+
+    private final int index;
+
+    private final String id;
+
+    private final String sequence;
+
+    private final HELM2Notation helm2notation;
+
+    private final Exception error;
+
+    private Result(int index, String id, String sequence, HELM2Notation helm2notation, Exception error) {
+      this.index = index;
+      this.id = id;
+      this.sequence = sequence;
+      this.helm2notation = helm2notation;
+      this.error = error;
+    }
+
+    /**
+     * @return position of the sequence in the batch, starting with 0
+     */
+    public int getIndex() {
+      return index;
+    }
+
+    /**
+     * @return ID of the sequence, null if no IDs were given
+     */
+    public String getId() {
+      return id;
+    }
+
+    /**
+     * @return input sequence
+     */
+    public String getSequence() {
+      return sequence;
+    }
+
+    /**
+     * @return HELM2Notation of the sequence, null if the conversion failed
+     */
+    public HELM2Notation getHELM2Notation() {
+      return helm2notation;
+    }
+
+    /**
+     * @return HELM2 string of the sequence, null if the conversion failed
+     */
+    public String getHELM2() {
+      return (helm2notation == null) ? null : helm2notation.toHELM2();
+    }
+
+    /**
+     * @return error of the conversion, null if it succeeded
+     */
+    public Exception getError() {
+      return error;
+    }
+
+    /**
+     * @return true if the conversion succeeded
+     */
+    public boolean isSuccessful() {
+      return error == null;
+    }
+  }
+
 }
@@ -25,9 +25,11 @@ package org.helm.notation2.tools;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 import org.helm.chemtoolkit.CTKException;
 import org.helm.notation2.Nucleotide;
@@ -106,13 +108,80 @@ public class SiRNANotation {
    */
   public static HELM2Notation getSirnaNotation(String senseSeq, String antiSenseSeq, String rnaDesignType) throws NotationException, FastaFormatException, IOException, JDOMException,
       HELM2HandledException, RNAUtilsException, org.helm.notation2.exception.NotationException, ChemistryException, CTKException {
+    return buildSirnaNotation(FastaConverter.getInstance(), senseSeq, antiSenseSeq, rnaDesignType);
+  }
+
+  /**
+   * this method converts many pairs of nucleotide sequences into HELM notation
+   * based on the design pattern, each pair gives the same HELM2Notation as
+   * {@link #getSirnaNotation(String, String, String)} does. All pairs share the
+   * tables of the FastaConverter.
+   *
+   * @param senseSeqs 5-3 nucleotide sequences
+   * @param antiSenseSeqs 3-5 nucleotide sequences, one for each sense sequence
+   * @param rnaDesignType
+   * @param executor ExecutorService for the conversion, null to convert on the
+   *          calling thread
+   * @return results in the order of the pairs, a pair that can not be converted
+   *         or does not fit the design gives a result with its error
+   * @throws NotationException if the RNA design type is not supported
+   * @throws FastaFormatException if the monomers or nucleotides can not be
+   *           initialized
+   * @throws ChemistryException if the Chemistry Engine can not be initialized
+   * @throws InterruptedException if the calling thread was interrupted
+   */
+  public static List<Result> getSirnaNotations(final List<String> senseSeqs, final List<String> antiSenseSeqs,
+      final String rnaDesignType, ExecutorService executor) throws NotationException, FastaFormatException,
+      ChemistryException, InterruptedException {
+    if (senseSeqs.size() != antiSenseSeqs.size()) {
+      throw new IllegalArgumentException("Number of sense and antisense sequences differ: " + senseSeqs.size() + " "
+          + antiSenseSeqs.size());
+    }
+    if (!NucleotideParser.RNA_DESIGN_NONE.equalsIgnoreCase(rnaDesignType)
+        && !NucleotideParser.SUPPORTED_DESIGN_LIST.contains(rnaDesignType)) {
+      throw new NotationException("Unsupported RNA Design Type '"
+          + rnaDesignType + "'");
+    }
+
+    final FastaConverter converter = FastaConverter.getInstance();
+    final Result[] results = new Result[senseSeqs.size()];
+    SequenceConverter.BatchTask task = new SequenceConverter.BatchTask() {
+      @Override
+      public void run(int from, int to) {
+        for (int i = from; i < to; i++) {
+          results[i] = buildResult(converter, i, senseSeqs.get(i), antiSenseSeqs.get(i), rnaDesignType);
+        }
+      }
+    };
+    if (executor == null) {
+      task.run(0, results.length);
+    } else {
+      SequenceConverter.runInBatches(results.length, converter.getMonomerStore(), executor, task);
+    }
+    return Arrays.asList(results);
+  }
+
+  private static Result buildResult(FastaConverter converter, int index, String senseSeq, String antiSenseSeq,
+      String rnaDesignType) {
+    try {
+      return new Result(index, senseSeq, antiSenseSeq, buildSirnaNotation(converter, senseSeq, antiSenseSeq,
+          rnaDesignType), null);
+    } catch (Exception e) {
+      LOG.info("siRNA " + index + " can not be built: " + e.getMessage());
+      return new Result(index, senseSeq, antiSenseSeq, null, e);
+    }
+  }
+
+  private static HELM2Notation buildSirnaNotation(FastaConverter converter, String senseSeq, String antiSenseSeq,
+      String rnaDesignType) throws NotationException, FastaFormatException, IOException, JDOMException,
+      HELM2HandledException, RNAUtilsException, org.helm.notation2.exception.NotationException, ChemistryException {
     HELM2Notation helm2notation = null;
     if (senseSeq != null && senseSeq.length() > 0) {
-      helm2notation = SequenceConverter.readRNA(senseSeq);
+      helm2notation = SequenceConverter.readRNA(converter, senseSeq);
     }
     if (antiSenseSeq != null && antiSenseSeq.length() > 0) {
       PolymerNotation antisense = new PolymerNotation("RNA2");
-      antisense = new PolymerNotation(antisense.getPolymerID(), FastaFormat.generateElementsforRNA(antiSenseSeq, antisense.getPolymerID()));
+      antisense = new PolymerNotation(antisense.getPolymerID(), converter.generateElementsforRNA(antiSenseSeq, antisense.getPolymerID()));
 
       helm2notation.addPolymer(antisense);
     }
@@ -144,8 +213,8 @@ public class SiRNANotation {
     ConnectionNotation connection;
     if (one.getPolymerElements().getListOfElements() != null && one.getPolymerElements().getListOfElements().size() > 0 && two.getPolymerElements().getListOfElements() != null
         && two.getPolymerElements().getListOfElements().size() > 0) {
-      String analogSeqSS = RNAUtils.getNaturalAnalogSequence(one).replaceAll("T", "U");
-      String analogSeqAS = new StringBuilder(RNAUtils.getNaturalAnalogSequence(two).replaceAll("T", "U")).toString();
+      String analogSeqSS = RNAUtils.getNaturalAnalogSequence(one).replace('T', 'U');
+      String analogSeqAS = RNAUtils.getNaturalAnalogSequence(two).replace('T', 'U');
 
       if (NucleotideParser.RNA_DESIGN_NONE.equalsIgnoreCase(rnaDesignType)) {
         String normalCompAS = RNAUtils.getNaturalAnalogSequence(RNAUtils.getComplement(two)).replace("T", "U");
@@ -272,4 +341,77 @@ public class SiRNANotation {
 
   }
 
+  /**
+   * Result of one sense/antisense pair of a batch
+   */
+  public static final class Result {
+
+    private final int index;
+
+    private final String senseSeq;
+
+    private final String antiSenseSeq;
+
+    private final HELM2Notation helm2notation;
+
+    private final Exception error;
+
+    private Result(int index, String senseSeq, String antiSenseSeq, HELM2Notation helm2notation, Exception error) {
+      this.index = index;
+      this.senseSeq = senseSeq;
+      this.antiSenseSeq = antiSenseSeq;
+      this.helm2notation = helm2notation;
+      this.error = error;
+    }
+
+    /**
+     * @return position of the pair in the batch, starting with 0
+     */
+    public int getIndex() {
+      return index;
+    }
+
+    /**
+     * @return input sense sequence
+     */
+    public String getSenseSequence() {
+      return senseSeq;
+    }
+
+    /**
+     * @return input antisense sequence
+     */
+    public String getAntiSenseSequence() {
+      return antiSenseSeq;
+    }
+
+    /**
+     * @return HELM2Notation of the siRNA, null if it could not be built
+     */
+    public HELM2Notation getHELM2Notation() {
+      return helm2notation;
+    }
+
+    /**
+     * @return HELM2 string of the siRNA, null if it could not be built
+     */
+    public String getHELM2() {
+      return (helm2notation == null) ? null : helm2notation.toHELM2();
+    }
+
+    /**
+     * @return error of the pair, null if the siRNA was built
+     */
+    public Exception getError() {
+      return error;
+    }
+
+    /**
+     * @return true if the siRNA was built
+     */
+    public boolean isSuccessful() {
+      return error == null;
+    }
+  }
+
 }
@@ -0,0 +1,284 @@
+/**
+ * *****************************************************************************
+ * Copyright C 2015, The Pistoia Alliance
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *****************************************************************************
+ */
+package org.helm.notation2.tools;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.helm.notation2.exception.ChemistryException;
+import org.helm.notation2.exception.HELM2HandledException;
+import org.helm.notation2.exception.RNAUtilsException;
+import org.helm.notation2.parser.exceptionparser.NotationException;
+import org.helm.notation2.parser.notation.HELM2Notation;
+import org.helm.notation2.parser.notation.connection.ConnectionNotation;
+import org.helm.notation2.parser.notation.polymer.PolymerNotation;
+
+/**
+ * SirnaDuplexFormatter, class to render a siRNA as three lines: the sense
+ * strand, the base pairs and the antisense strand from 3' to 5'. The base
+ * pairs are collected into primitive arrays and every line is built once with
+ * its final length. The formatter is immutable and can be shared between
+ * threads.
+ */
+public final class SirnaDuplexFormatter {
+
+  private final char paddingChar;
+
+  private final char basePairChar;
+
+  /**
+   * Constructs a formatter with the default padding char " " and base-pair
+   * char "|"
+   */
+  public SirnaDuplexFormatter() {
+    this(HELM2NotationUtils.DEFAULT_PADDING_CHAR.charAt(0), HELM2NotationUtils.DEFAULT_BASE_PAIR_CHAR.charAt(0));
+  }
+
+  /**
+   * Constructs a formatter
+   *
+   * @param paddingChar char for the gaps and the unpaired positions
+   * @param basePairChar char for the paired positions
+   */
+  public SirnaDuplexFormatter(char paddingChar, char basePairChar) {
+    this.paddingChar = paddingChar;
+    this.basePairChar = basePairChar;
+  }
+
+  /**
+   * method to generate the formated siRNA sequence, as
+   * {@link HELM2NotationUtils#getFormatedSirnaSequences(HELM2Notation, String, String)}
+   *
+   * @param helm2notation HELM2Notation
+   * @return string array of formated nucleotide sequence, no line for no rna,
+   *         one for a single rna, two for two rnas without base pairs and
+   *         three otherwise
+   * @throws NotationException if the structure contains more than two rnas or
+   *           the matching lengths of the strands are different
+   * @throws RNAUtilsException
+   * @throws HELM2HandledException if HELM2 features are involved
+   * @throws org.helm.notation2.exception.NotationException
+   * @throws ChemistryException if the Chemistry Engine can not be initialized
+   */
+  public String[] format(HELM2Notation helm2notation) throws NotationException, RNAUtilsException,
+      HELM2HandledException, org.helm.notation2.exception.NotationException, ChemistryException {
+    List<PolymerNotation> rnaList = HELM2NotationUtils.getRNAPolymers(helm2notation.getListOfPolymers());
+    int count = rnaList.size();
+    if (count == 0) {
+      return new String[0];
+    } else if (count == 1) {
+      return new String[] {RNAUtils.getSequence(rnaList.get(0))};
+    } else if (count > 2) {
+      throw new NotationException(
+          "Structure contains more than two RNA sequences");
+    }
+
+    PolymerNotation one = null;
+    PolymerNotation two = null;
+    for (PolymerNotation node : rnaList) {
+      if (node.getPolymerID().getId().equals("RNA1")) {
+        one = node;
+      } else if (node.getPolymerID().getId().equals("RNA2")) {
+        two = node;
+      }
+    }
+    String rna1Seq = RNAUtils.getSequence(one);
+    String rna2Seq = RNAUtils.getSequence(two);
+    RnaView view1 = RnaView.of(one);
+    RnaView view2 = RnaView.of(two);
+    String reverseRna2Seq = RNAUtils.getReverseSequence(two);
+
+    List<ConnectionNotation> connections = HELM2NotationUtils.getAllBasePairConnections(helm2notation.getListOfConnections());
+    if (null == connections || connections.size() == 0) {
+      return new String[] {rna1Seq, rna2Seq};
+    }
+
+    /* nucleotide positions (starting with 1) of the pairs, rna1 to rna2,
+       mapped from the monomer positions by the views */
+    int[] rna1Positions = new int[connections.size()];
+    int[] rna2Positions = new int[connections.size()];
+    int maxPosition = 0;
+    for (int i = 0; i < connections.size(); i++) {
+      ConnectionNotation connection = connections.get(i);
+      String source = connection.getSourceId().getId();
+      String target = connection.getTargetId().getId();
+      if (source.equals("RNA1") && target.equals("RNA2")) {
+        rna1Positions[i] = getNucleotidePosition(view1, connection.getSourceUnit());
+        rna2Positions[i] = getNucleotidePosition(view2, connection.getTargetUnit());
+      } else if (source.equals("RNA2") && target.equals("RNA1")) {
+        rna1Positions[i] = getNucleotidePosition(view1, connection.getTargetUnit());
+        rna2Positions[i] = getNucleotidePosition(view2, connection.getSourceUnit());
+      } else {
+        throw new NotationException(
+            "Structure contains more than two RNA sequences");
+      }
+      maxPosition = Math.max(maxPosition, rna1Positions[i]);
+    }
+
+    /* a later connection of the same rna1 nucleotide wins */
+    boolean[] paired = new boolean[maxPosition + 1];
+    int[] partner = new int[maxPosition + 1];
+    int rna1First = maxPosition;
+    int rna1Last = 0;
+    for (int i = 0; i < rna1Positions.length; i++) {
+      paired[rna1Positions[i]] = true;
+      partner[rna1Positions[i]] = rna2Positions[i];
+      rna1First = Math.min(rna1First, rna1Positions[i]);
+      rna1Last = Math.max(rna1Last, rna1Positions[i]);
+    }
+    int rna2Last = partner[rna1First];
+    int rna2First = partner[rna1Last];
+
+    if ((rna1Last - rna1First) != (rna2Last - rna2First)) {
+      throw new NotationException(
+          "siRNA matching lengths are different");
+    }
+
+    int rna1LeftOverhang = rna1First - 1;
+    int rna1RightOverhang = rna1Seq.length() - rna1Last;
+    int rna2LeftOverhang = rna2Seq.length() - rna2Last;
+    int rna2RightOverhang = rna2First - 1;
+
+    /* padding of each line on the left and on the right */
+    int leftPad0 = Math.max(0, rna2LeftOverhang - rna1LeftOverhang);
+    int leftPad1 = Math.max(rna1LeftOverhang, rna2LeftOverhang);
+    int leftPad2 = Math.max(0, rna1LeftOverhang - rna2LeftOverhang);
+    int rightPad0;
+    int rightPad1;
+    int rightPad2;
+    if (rna1RightOverhang >= rna2RightOverhang) {
+      rightPad0 = 0;
+      rightPad1 = rna1RightOverhang;
+      rightPad2 = rna1RightOverhang - rna2RightOverhang;
+    } else {
+      rightPad0 = rna2RightOverhang - rna1RightOverhang;
+      rightPad1 = rightPad0;
+      rightPad2 = 0;
+    }
+
+    char[] line0 = new char[leftPad0 + rna1Seq.length() + rightPad0];
+    int pos = fill(line0, 0, leftPad0, paddingChar);
+    rna1Seq.getChars(0, rna1Seq.length(), line0, pos);
+    fill(line0, pos + rna1Seq.length(), rightPad0, paddingChar);
+
+    char[] line1 = new char[leftPad1 + (rna1Last - rna1First + 1) + Math.max(0, rightPad1)];
+    pos = fill(line1, 0, leftPad1, paddingChar);
+    for (int i = rna1First; i <= rna1Last; i++) {
+      line1[pos++] = paired[i] ? basePairChar : paddingChar;
+    }
+    fill(line1, pos, rightPad1, paddingChar);
+
+    char[] line2 = new char[leftPad2 + reverseRna2Seq.length() + rightPad2];
+    pos = fill(line2, 0, leftPad2, paddingChar);
+    reverseRna2Seq.getChars(0, reverseRna2Seq.length(), line2, pos);
+    fill(line2, pos + reverseRna2Seq.length(), rightPad2, paddingChar);
+
+    String rna1Annotation = one.getAnnotation();
+    String rna2Annotation = two.getAnnotation();
+    if ((rna1Annotation != null && rna1Annotation.equalsIgnoreCase("AS"))
+        || (rna2Annotation != null && rna2Annotation.equalsIgnoreCase("SS"))) {
+      return new String[] {reverse(line2), reverse(line1), reverse(line0)};
+    }
+    return new String[] {new String(line0), new String(line1), new String(line2)};
+  }
+
+  /**
+   * method to write the formated siRNA sequence, every line is terminated by
+   * a line feed
+   *
+   * @param helm2notation HELM2Notation
+   * @param out output
+   * @throws IOException if the output can not be written
+   * @throws NotationException if the structure contains more than two rnas or
+   *           the matching lengths of the strands are different
+   * @throws RNAUtilsException
+   * @throws HELM2HandledException if HELM2 features are involved
+   * @throws org.helm.notation2.exception.NotationException
+   * @throws ChemistryException if the Chemistry Engine can not be initialized
+   */
+  public void write(HELM2Notation helm2notation, Appendable out) throws IOException, NotationException,
+      RNAUtilsException, HELM2HandledException, org.helm.notation2.exception.NotationException, ChemistryException {
+    for (String line : format(helm2notation)) {
+      out.append(line).append('\n');
+    }
+  }
+
+  /**
+   * method to write the formated siRNA sequences of a library, the siRNAs are
+   * separated by an empty line; only one siRNA is held in memory at a time
+   *
+   * @param helm2notations HELM2Notations
+   * @param out output
+   * @throws IOException if the output can not be written
+   * @throws NotationException if a structure contains more than two rnas or
+   *           the matching lengths of the strands are different
+   * @throws RNAUtilsException
+   * @throws HELM2HandledException if HELM2 features are involved
+   * @throws org.helm.notation2.exception.NotationException
+   * @throws ChemistryException if the Chemistry Engine can not be initialized
+   */
+  public void writeAll(Iterable<HELM2Notation> helm2notations, Appendable out) throws IOException,
+      NotationException, RNAUtilsException, HELM2HandledException, org.helm.notation2.exception.NotationException,
+      ChemistryException {
+    boolean first = true;
+    for (HELM2Notation helm2notation : helm2notations) {
+      if (!first) {
+        out.append('\n');
+      }
+      write(helm2notation, out);
+      first = false;
+    }
+  }
+
+  /**
+   * method to get the nucleotide of the monomer of a base pair connection
+   *
+   * @param view RnaView of the polymer
+   * @param unit monomer position of the connection
+   * @return position of the nucleotide, starting with 1
+   * @throws NotationException if the polymer has no such monomer
+   */
+  private static int getNucleotidePosition(RnaView view, String unit) throws NotationException {
+    int index = view.getNucleotideIndex(Integer.parseInt(unit));
+    if (index < 0) {
+      throw new NotationException("Base pair connection to unknown monomer " + unit);
+    }
+    return index + 1;
+  }
+
+  private static int fill(char[] line, int pos, int count, char c) {
+    for (int i = 0; i < count; i++) {
+      line[pos++] = c;
+    }
+    return pos;
+  }
+
+  private static String reverse(char[] line) {
+    char[] reversed = new char[line.length];
+    for (int i = 0; i < line.length; i++) {
+      reversed[line.length - 1 - i] = line[i];
+    }
+    return new String(reversed);
+  }
+}
@@ -0,0 +1,152 @@
+/**
+ * *****************************************************************************
+ * Copyright C 2015, The Pistoia Alliance
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *****************************************************************************
+ */
+package org.helm.notation2.tools;
+
+import java.util.Arrays;
+
+/**
+ * SuffixAutomaton class, recognizes all substrings of a text. It is built in
+ * linear time and finds the longest common substring of the text and a query
+ * in linear time of the query. The automaton is immutable after construction.
+ */
+final class SuffixAutomaton {
+
+  /* sorted characters of the text */
+  private final char[] alphabet;
+
+  /* transitions, next[state * alphabet.length + character], -1 if missing */
+  private final int[] next;
+
+  /* suffix links, -1 for the initial state */
+  private final int[] link;
+
+  /* length of the longest substring of each state */
+  private final int[] length;
+
+  /**
+   * Constructs the automaton of the given text
+   *
+   * @param text text
+   */
+  SuffixAutomaton(CharSequence text) {
+    alphabet = getAlphabet(text);
+    int k = alphabet.length;
+    int maxStates = Math.max(2, 2 * text.length());
+    next = new int[maxStates * k];
+    Arrays.fill(next, -1);
+    link = new int[maxStates];
+    length = new int[maxStates];
+
+    link[0] = -1;
+    int last = 0;
+    int count = 1;
+    for (int i = 0; i < text.length(); i++) {
+      int c = indexOf(text.charAt(i));
+      int current = count++;
+      length[current] = length[last] + 1;
+      int p = last;
+      while (p != -1 && next[p * k + c] == -1) {
+        next[p * k + c] = current;
+        p = link[p];
+      }
+      if (p == -1) {
+        link[current] = 0;
+      } else {
+        int q = next[p * k + c];
+        if (length[p] + 1 == length[q]) {
+          link[current] = q;
+        } else {
+          /* split q, the clone takes the shorter substrings */
+          int clone = count++;
+          length[clone] = length[p] + 1;
+          System.arraycopy(next, q * k, next, clone * k, k);
+          link[clone] = link[q];
+          while (p != -1 && next[p * k + c] == q) {
+            next[p * k + c] = clone;
+            p = link[p];
+          }
+          link[q] = clone;
+          link[current] = clone;
+        }
+      }
+      last = current;
+    }
+  }
+
+  /**
+   * method to find the longest substring of the query which is also a
+   * substring of the text; of several substrings with the same length the one
+   * starting first in the query is taken
+   *
+   * @param query query
+   * @return start position in the query and length of the substring, the
+   *         length is 0 if the query and the text have no character in common
+   */
+  int[] getLongestCommonSubstring(CharSequence query) {
+    int k = alphabet.length;
+    int state = 0;
+    int matched = 0;
+    int bestEnd = -1;
+    int bestLength = 0;
+    for (int i = 0; i < query.length(); i++) {
+      int c = indexOf(query.charAt(i));
+      if (c < 0) {
+        state = 0;
+        matched = 0;
+        continue;
+      }
+      /* shorten the match until it can be extended */
+      while (state != 0 && next[state * k + c] == -1) {
+        state = link[state];
+        matched = length[state];
+      }
+      if (next[state * k + c] != -1) {
+        state = next[state * k + c];
+        matched++;
+      }
+      if (matched > bestLength) {
+        bestLength = matched;
+        bestEnd = i;
+      }
+    }
+    return new int[] {bestEnd - bestLength + 1, bestLength};
+  }
+
+  private int indexOf(char c) {
+    int index = Arrays.binarySearch(alphabet, c);
+    return index < 0 ? -1 : index;
+  }
+
+  private static char[] getAlphabet(CharSequence text) {
+    char[] chars = text.toString().toCharArray();
+    Arrays.sort(chars);
+    int count = 0;
+    for (int i = 0; i < chars.length; i++) {
+      if (count == 0 || chars[count - 1] != chars[i]) {
+        chars[count++] = chars[i];
+      }
+    }
+    return Arrays.copyOf(chars, count);
+  }
+}
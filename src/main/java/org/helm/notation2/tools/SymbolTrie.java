@@ -0,0 +1,174 @@
+/**
+ * *****************************************************************************
+ * Copyright C 2015, The Pistoia Alliance
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *****************************************************************************
+ */
+package org.helm.notation2.tools;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * SymbolTrie class to split a sequence into known symbols, e.g. monomer IDs.
+ * At every position the longest symbol is taken, so the result does not depend
+ * on the order of the symbols. The trie is immutable after construction and
+ * can be shared between threads.
+ */
+public final class SymbolTrie {
+
+  private final Node root;
+
+  private final int size;
+
+  /**
+   * Constructs the trie of the given symbols, empty symbols are ignored
+   *
+   * @param symbols known symbols
+   */
+  public SymbolTrie(Collection<String> symbols) {
+    Builder rootBuilder = new Builder();
+    int count = 0;
+    for (String symbol : symbols) {
+      if (symbol == null || symbol.isEmpty()) {
+        continue;
+      }
+      Builder current = rootBuilder;
+      for (int i = 0; i < symbol.length(); i++) {
+        Character c = symbol.charAt(i);
+        Builder next = current.children.get(c);
+        if (next == null) {
+          next = new Builder();
+          current.children.put(c, next);
+        }
+        current = next;
+      }
+      if (current.symbol == null) {
+        current.symbol = symbol;
+        count++;
+      }
+    }
+    this.root = rootBuilder.build();
+    this.size = count;
+  }
+
+  /**
+   * method to get the number of symbols of this trie
+   *
+   * @return number of symbols
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * method to get the longest symbol starting at the given position of the
+   * sequence
+   *
+   * @param sequence input sequence
+   * @param pos start position
+   * @return longest symbol, null if no symbol starts at this position
+   */
+  public String match(CharSequence sequence, int pos) {
+    Node current = root;
+    String longest = null;
+    for (int i = pos; i < sequence.length(); i++) {
+      current = current.child(sequence.charAt(i));
+      if (current == null) {
+        break;
+      }
+      if (current.symbol != null) {
+        longest = current.symbol;
+      }
+    }
+    return longest;
+  }
+
+  /**
+   * method to split the whole sequence into symbols
+   *
+   * @param sequence input sequence
+   * @return list of symbols
+   * @throws IllegalArgumentException if no symbol starts at a position; the
+   *           message contains the rest of the sequence
+   */
+  public List<String> tokenize(CharSequence sequence) {
+    List<String> symbols = new ArrayList<String>();
+    int pos = 0;
+    while (pos < sequence.length()) {
+      String symbol = match(sequence, pos);
+      if (symbol == null) {
+        throw new IllegalArgumentException(sequence.subSequence(pos, sequence.length()).toString());
+      }
+      symbols.add(symbol);
+      pos += symbol.length();
+    }
+    return symbols;
+  }
+
+  /**
+   * node of the trie, the children are sorted by their label
+   */
+  private static final class Node {
+
+    private final char[] labels;
+
+    private final Node[] children;
+
+    private final String symbol;
+
+    private Node(char[] labels, Node[] children, String symbol) {
+      this.labels = labels;
+      this.children = children;
+      this.symbol = symbol;
+    }
+
+    private Node child(char c) {
+      int index = Arrays.binarySearch(labels, c);
+      return index < 0 ? null : children[index];
+    }
+  }
+
+  /**
+   * mutable node, only used during construction
+   */
+  private static final class Builder {
+
+    private final Map<Character, Builder> children = new TreeMap<Character, Builder>();
+
+    private String symbol;
+
+    private Node build() {
+      char[] labels = new char[children.size()];
+      Node[] nodes = new Node[children.size()];
+      int i = 0;
+      for (Map.Entry<Character, Builder> entry : children.entrySet()) {
+        labels[i] = entry.getKey();
+        nodes[i] = entry.getValue().build();
+        i++;
+      }
+      return new Node(labels, nodes, symbol);
+    }
+  }
+}
@@ -28,6 +28,10 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.helm.chemtoolkit.CTKException;
 import org.helm.notation2.Chemistry;
@@ -98,6 +102,30 @@ public final class Validation {
   public static void validateNotationObjects(HELM2Notation helm2notation) throws PolymerIDsException,
       MonomerException, GroupingNotationException, ConnectionNotationException, NotationException, ChemistryException, MonomerLoadingException,
       org.helm.notation2.parser.exceptionparser.NotationException{
+    validateNotationObjects(helm2notation, null);
+  }
+
+  /**
+   * method to check if the generated notation objects by the parser are
+   * correct; the monomers of the single polymers are validated concurrently on
+   * the given executor, the reported failure is the same as in the sequential
+   * validation
+   *
+   * @param helm2notation HELM2Notation object
+   * @param executor ExecutorService to validate the monomers of each polymer,
+   *          if null the monomers are validated sequentially
+   * @throws PolymerIDsException if the polymer section is not valid
+   * @throws MonomerException if a monomer is not valid
+   * @throws GroupingNotationException if the grouping section is not valid
+   * @throws ConnectionNotationException if the connection section is not valid
+   * @throws NotationException
+   * @throws ChemistryException if the Chemistry Engine can not be initialized
+   * @throws MonomerLoadingException
+   * @throws org.helm.notation2.parser.exceptionparser.NotationException
+   */
+  public static void validateNotationObjects(HELM2Notation helm2notation, ExecutorService executor) throws PolymerIDsException,
+      MonomerException, GroupingNotationException, ConnectionNotationException, NotationException, ChemistryException, MonomerLoadingException,
+      org.helm.notation2.parser.exceptionparser.NotationException {
     LOG.info("Validation process is starting");
     /* all polymer ids have to be unique */
     if (!validateUniquePolymerIDs(helm2notation)) {
@@ -105,7 +133,7 @@ public final class Validation {
       throw new PolymerIDsException("Polymer IDs have to be unique");
     }
     /* Validation of Monomers */
-    if (!validateMonomers(MethodsMonomerUtils.getListOfMonomerNotation(helm2notation.getListOfPolymers()))) {
+    if (!validateMonomers(helm2notation.getListOfPolymers(), executor)) {
       LOG.info("Monomers have to be valid");
       throw new MonomerException("Monomers have to be valid");
     }
@@ -140,6 +168,80 @@ public final class Validation {
     return true;
   }
 
+  /**
+   * method to validate the monomers of a list of PolymerNotation objects, the
+   * monomers of each polymer are validated as an independent task on the given
+   * executor; the results are inspected in the order of the polymers, so the
+   * first failure is the same as in the sequential validation
+   *
+   * @param polymers List of PolymerNotation objects
+   * @param executor ExecutorService to run the single validations, if null the
+   *          monomers are validated sequentially
+   * @return true if all monomers are valid, false otherwise
+   * @throws ChemistryException if the Chemistry Engine can not be initialized
+   * @throws MonomerLoadingException if the MonomerFactory can not be loaded or
+   *           the validation was interrupted
+   * @throws org.helm.notation2.parser.exceptionparser.NotationException
+   */
+  protected static boolean validateMonomers(List<PolymerNotation> polymers, ExecutorService executor) throws ChemistryException, MonomerLoadingException,
+      org.helm.notation2.parser.exceptionparser.NotationException {
+    if (executor == null || polymers.size() < 2) {
+      return validateMonomers(MethodsMonomerUtils.getListOfMonomerNotation(polymers));
+    }
+
+    /*
+     * the MonomerFactory has to be initialized before the tasks are started,
+     * the tasks use the MonomerStore of the calling thread
+     */
+    final MonomerStore monomerStore = MonomerFactory.getInstance().getMonomerStore();
+
+    List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+    for (final PolymerNotation polymer : polymers) {
+      results.add(executor.submit(new Callable<Boolean>() {
+        @Override
+        public Boolean call() throws Exception {
+          MonomerFactory.bindMonomerStore(monomerStore);
+          try {
+            return validateMonomers(polymer.getListMonomers());
+          } finally {
+            MonomerFactory.unbindMonomerStore();
+          }
+        }
+      }));
+    }
+
+    try {
+      for (Future<Boolean> result : results) {
+        if (!result.get()) {
+          return false;
+        }
+      }
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new MonomerLoadingException("Validation of the monomers was interrupted", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof ChemistryException) {
+        throw (ChemistryException) cause;
+      } else if (cause instanceof MonomerLoadingException) {
+        throw (MonomerLoadingException) cause;
+      } else if (cause instanceof org.helm.notation2.parser.exceptionparser.NotationException) {
+        throw (org.helm.notation2.parser.exceptionparser.NotationException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new MonomerLoadingException("Validation of the monomers failed", cause);
+    } finally {
+      /* the remaining tasks are not needed anymore */
+      for (Future<Boolean> result : results) {
+        result.cancel(true);
+      }
+    }
+  }
+
   /**
    * method to valid all existent connections in the Notation objects
    *
@@ -156,6 +258,8 @@ public final class Validation {
 
       /* Hash-Map to save only specific InterConnections */
       InterConnections interconnection = new InterConnections();
+      /* reused for every connection */
+      ConnectionDetail detail = new ConnectionDetail();
       boolean specific = true;
       /* check for each single connection */
       for (ConnectionNotation connection : listConnections) {
@@ -175,15 +279,15 @@ public final class Validation {
         String targetUnit = connection.getTargetUnit();
 
         /* check for specific interactions */
-        if (isConnectionSpecific(connection) && specific) {
+        if (detail.scan(connection) && specific) {
           /*
            * interaction seems to be specific: it is given in number -> place of
            * monomer
            */
           /* Get Monomers */
           specific = true;
-          int occurenceOne = Integer.parseInt(sourceUnit);
-          int occurenceTwo = Integer.parseInt(targetUnit);
+          int occurenceOne = detail.getSourceUnit();
+          int occurenceTwo = detail.getTargetUnit();
 
           /*
            * if the monomers are a group or a list of monomers -> is it no more
@@ -236,23 +340,6 @@ public final class Validation {
     }
   }
 
-  /**
-   * method to check if the given connection is specific
-   *
-   * @param connectionNotation input ConnectionNotation
-   * @return true if the described connection is specific, false otherwise
-   */
-  private static boolean isConnectionSpecific(ConnectionNotation connectionNotation) {
-    String connection =
-        connectionNotation.getSourceUnit() + ":" + connectionNotation.getrGroupSource() + "-"
-            + connectionNotation.getTargetUnit() + ":" + connectionNotation.getrGroupTarget();
-    /* check for specific interaction */
-    if (connection.matches("\\d+:R\\d-\\d+:R\\d|\\d+:pair-\\d+:pair")) {
-      return true;
-    }
-    return false;
-  }
-
   /**
    * method to get all occurences of the MonomerNotation
    *
@@ -90,8 +90,9 @@ public class WebService {
   }
 
   /**
-   * method to combine the new MonomerStore to the existing one, in case of
-   * xHELM as input
+   * method to layer the MonomerStore of a xHELM input over the existing one and
+   * to bind it to the current request; the existing MonomerStore is not
+   * changed
    *
    * @param monomerStore MonomerStore
    * @throws MonomerLoadingException
@@ -99,12 +100,12 @@ public class WebService {
    * @throws MonomerException
    * @throws ChemistryException
    */
-  private void updateMonomerStore(MonomerStore monomerStore) throws MonomerLoadingException, IOException, MonomerException, ChemistryException {
+  private void bindMonomerStore(MonomerStore monomerStore) throws MonomerLoadingException, IOException, MonomerException, ChemistryException {
+    MonomerStore requestStore = new MonomerStore(MonomerFactory.getInstance().getDefaultMonomerStore());
     for (Monomer monomer : monomerStore.getAllMonomersList()) {
-      MonomerFactory.getInstance().getMonomerStore().addNewMonomer(monomer);
-      // save monomer db to local file after successful update //
-      MonomerFactory.getInstance().saveMonomerCache();
+      requestStore.addMonomer(monomer);
     }
+    MonomerFactory.bindMonomerStore(requestStore);
   }
 
   /**
@@ -128,7 +129,7 @@ public class WebService {
 
       notation = xHelmNotationParser.getHELMNotationString(xHELMRootElement);
       MonomerStore store = xHelmNotationParser.getMonomerStore(xHELMRootElement);
-      updateMonomerStore(store);
+      bindMonomerStore(store);
 
     }
     return HELM2NotationUtils.readNotation(notation);
@@ -175,14 +176,20 @@ public class WebService {
    * @throws NotationException
    */
   public void validateHELM(String helm) throws ValidationException, MonomerLoadingException, ChemistryException {
-    validate(helm);
-    setMonomerFactoryToDefault(helm);
+    try {
+      validate(helm);
+    } finally {
+      setMonomerFactoryToDefault(helm);
+    }
   }
   
   public void validateSyntaxHELM(String helm) throws ChemistryException, ParserException, JDOMException, IOException, MonomerException{
-	      /* Read */ 
-	  HELM2Notation helm2notation = readNotation(helm);
-	    setMonomerFactoryToDefault(helm);
+    try {
+      /* Read */
+      readNotation(helm);
+    } finally {
+      setMonomerFactoryToDefault(helm);
+    }
 	    
   }
 
@@ -198,9 +205,11 @@ public class WebService {
    * @throws ChemistryException if the Chemistry Engine can not be initialized
    */
   public String convertStandardHELMToCanonicalHELM(String notation) throws HELM1FormatException, ValidationException, MonomerLoadingException, ChemistryException {
-    String result = HELM1Utils.getCanonical(validate(notation));
-    setMonomerFactoryToDefault(notation);
-    return result;
+    try {
+      return HELM1Utils.getCanonical(validate(notation));
+    } finally {
+      setMonomerFactoryToDefault(notation);
+    }
   }
 
   /**
@@ -216,9 +225,11 @@ public class WebService {
    * @throws ChemistryException if the Chemistry Engine can not be initialized
    */
   public String convertIntoStandardHELM(String notation) throws HELM1FormatException, ValidationException, MonomerLoadingException, CTKException, ChemistryException {
-    String result = HELM1Utils.getStandard(validate(notation));
-    setMonomerFactoryToDefault(notation);
-    return result;
+    try {
+      return HELM1Utils.getStandard(validate(notation));
+    } finally {
+      setMonomerFactoryToDefault(notation);
+    }
   }
 
   /**
@@ -234,9 +245,11 @@ public class WebService {
    * @throws ChemistryException if the Chemistry Engine can not be initialized
    */
   public Float calculateExtinctionCoefficient(String notation) throws ExtinctionCoefficientException, ValidationException, MonomerLoadingException, ChemistryException {
-    Float result = ExtinctionCoefficient.getInstance().calculate(validate(notation));
-    setMonomerFactoryToDefault(notation);
-    return result;
+    try {
+      return ExtinctionCoefficient.getInstance().calculate(validate(notation));
+    } finally {
+      setMonomerFactoryToDefault(notation);
+    }
   }
 
   /**
@@ -252,9 +265,11 @@ public class WebService {
    * @throws NotationException
    */
   public String generateFasta(String notation) throws FastaFormatException, ValidationException, MonomerLoadingException, ChemistryException {
-    String result = FastaFormat.generateFasta(validate(notation));
-    setMonomerFactoryToDefault(notation);
-    return result;
+    try {
+      return FastaFormat.generateFasta(validate(notation));
+    } finally {
+      setMonomerFactoryToDefault(notation);
+    }
   }
 
   /**
@@ -270,9 +285,11 @@ public class WebService {
    */
   public String generateHELMFromFastaNucleotide(String notation) throws FastaFormatException, IOException, JDOMException, org.helm.notation2.parser.exceptionparser.NotationException,
       ChemistryException {
-    String result = FastaFormat.generateRNAPolymersFromFastaFormatHELM1(notation).toHELM2();
-    setMonomerFactoryToDefault(notation);
-    return result;
+    try {
+      return FastaFormat.generateRNAPolymersFromFastaFormatHELM1(notation).toHELM2();
+    } finally {
+      setMonomerFactoryToDefault(notation);
+    }
   }
 
   /**
@@ -285,9 +302,11 @@ public class WebService {
    * @throws ChemistryException
    */
   public String generateHELMFromFastaPeptide(String notation) throws FastaFormatException, MonomerLoadingException, ChemistryException {
-    String result = FastaFormat.generatePeptidePolymersFromFASTAFormatHELM1(notation).toHELM2();
-    setMonomerFactoryToDefault(notation);
-    return result;
+    try {
+      return FastaFormat.generatePeptidePolymersFromFASTAFormatHELM1(notation).toHELM2();
+    } finally {
+      setMonomerFactoryToDefault(notation);
+    }
   }
 
   /**
@@ -303,9 +322,11 @@ public class WebService {
    * @throws ChemistryException if the Chemistry Engine can not be initialized
    */
   public Double calculateMolecularWeight(String notation) throws MonomerLoadingException, BuilderMoleculeException, CTKException, ValidationException, ChemistryException {
-    Double result = MoleculePropertyCalculator.getMolecularWeight(validate(notation));
-    setMonomerFactoryToDefault(notation);
-    return result;
+    try {
+      return MoleculePropertyCalculator.getMolecularWeight(validate(notation));
+    } finally {
+      setMonomerFactoryToDefault(notation);
+    }
   }
 
   /**
@@ -321,9 +342,11 @@ public class WebService {
    * @throws ChemistryException if the Chemistry Engine can not be initialized
    */
   public String getMolecularFormula(String notation) throws BuilderMoleculeException, CTKException, ValidationException, MonomerLoadingException, ChemistryException {
-    String result = MoleculePropertyCalculator.getMolecularFormular(validate(notation));
-    setMonomerFactoryToDefault(notation);
-    return result;
+    try {
+      return MoleculePropertyCalculator.getMolecularFormular(validate(notation));
+    } finally {
+      setMonomerFactoryToDefault(notation);
+    }
   }
 
   /**
@@ -342,11 +365,13 @@ public class WebService {
    */
   public List<String> getMolecularProperties(String notation) throws BuilderMoleculeException, CTKException, ExtinctionCoefficientException, ValidationException, MonomerLoadingException,
       ChemistryException {
-    MoleculeProperty result = MoleculePropertyCalculator.getMoleculeProperties(validate(notation));
-    setMonomerFactoryToDefault(notation);
-
-    return new LinkedList<String>(
-        Arrays.asList(result.getMolecularFormula(), Double.toString(result.getMolecularWeight()), Double.toString(result.getExactMass()), Double.toString(result.getExtinctionCoefficient())));
+    try {
+      MoleculeProperty result = MoleculePropertyCalculator.getMoleculeProperties(validate(notation));
+      return new LinkedList<String>(
+          Arrays.asList(result.getMolecularFormula(), Double.toString(result.getMolecularWeight()), Double.toString(result.getExactMass()), Double.toString(result.getExtinctionCoefficient())));
+    } finally {
+      setMonomerFactoryToDefault(notation);
+    }
 
   }
 
@@ -396,9 +421,11 @@ public class WebService {
    * @throws MonomerException if the MonomerFactory can not be loaded
    */
   public byte[] generateImageForHELMMolecule(String notation) throws BuilderMoleculeException, CTKException, IOException, ValidationException, ChemistryException {
-    byte[] result = Images.generateImageHELMMolecule(validate(notation));
-    setMonomerFactoryToDefault(notation);
-    return result;
+    try {
+      return Images.generateImageHELMMolecule(validate(notation));
+    } finally {
+      setMonomerFactoryToDefault(notation);
+    }
   }
 
   /**
@@ -425,23 +452,23 @@ public class WebService {
    * @throws JsonProcessingException
    */
   public String generateJSON(String helm) throws ValidationException, MonomerLoadingException, ChemistryException, JsonProcessingException {
-    String result = HELM2NotationUtils.toJSON(validate(helm));
-    setMonomerFactoryToDefault(helm);
-    return result;
+    try {
+      return HELM2NotationUtils.toJSON(validate(helm));
+    } finally {
+      setMonomerFactoryToDefault(helm);
+    }
   }
 
   /**
    * method to set the MonomerFactory to the default one, this is only done in
-   * case of xHELM input
+   * case of xHELM input: the request specific MonomerStore is released
    *
    * @param helm input HELM
-   * @throws MonomerLoadingException if the MonomerFactory can not be loaded
-   * @throws ChemistryException
    */
-  private void setMonomerFactoryToDefault(String helm) throws MonomerLoadingException, ChemistryException {
+  private void setMonomerFactoryToDefault(String helm) {
     if (helm.contains("<Xhelm>")) {
-      LOG.info("Refresh local Monomer Store in case of Xhelm");
-      MonomerFactory.refreshMonomerCache();
+      LOG.info("Release request Monomer Store in case of Xhelm");
+      MonomerFactory.unbindMonomerStore();
     }
   }
 
@@ -462,9 +489,11 @@ public class WebService {
    */
   public String generateNaturalAnalogSequencePeptide(String notation) throws HELM2HandledException, ValidationException,
       MonomerLoadingException, PeptideUtilsException, org.helm.notation2.parser.exceptionparser.NotationException, ChemistryException {
-    String result = SequenceConverter.getPeptideNaturalAnalogSequenceFromNotation(validate(notation));
-    setMonomerFactoryToDefault(notation);
-    return result;
+    try {
+      return SequenceConverter.getPeptideNaturalAnalogSequenceFromNotation(validate(notation));
+    } finally {
+      setMonomerFactoryToDefault(notation);
+    }
   }
 
   /**
@@ -482,9 +511,11 @@ public class WebService {
    */
   public String generateNaturalAnalogSequenceRNA(String notation) throws org.helm.notation2.parser.exceptionparser.NotationException, HELM2HandledException, ValidationException,
       MonomerLoadingException, ChemistryException {
-    String result = SequenceConverter.getNucleotideNaturalAnalogSequenceFromNotation(validate(notation));
-    setMonomerFactoryToDefault(notation);
-    return result;
+    try {
+      return SequenceConverter.getNucleotideNaturalAnalogSequenceFromNotation(validate(notation));
+    } finally {
+      setMonomerFactoryToDefault(notation);
+    }
   }
 
   /**
@@ -499,9 +530,11 @@ public class WebService {
    * @throws MonomerLoadingException
    */
   public String generateSMILESForHELM2(String notation) throws BuilderMoleculeException, CTKException, ChemistryException, ValidationException, MonomerLoadingException {
-    String result = SMILES.getSMILESForAll(validate(notation));
-    setMonomerFactoryToDefault(notation);
-    return result;
+    try {
+      return SMILES.getSMILESForAll(validate(notation));
+    } finally {
+      setMonomerFactoryToDefault(notation);
+    }
   }
 
   /**
@@ -517,9 +550,11 @@ public class WebService {
    * @throws NotationException
    */
   public String generateCanSMILESForHELM2(String notation) throws BuilderMoleculeException, CTKException, ChemistryException, ValidationException, MonomerLoadingException, NotationException {
-    String result = SMILES.getCanonicalSMILESForAll((validate(notation)));
-    setMonomerFactoryToDefault(notation);
-    return result;
+    try {
+      return SMILES.getCanonicalSMILESForAll((validate(notation)));
+    } finally {
+      setMonomerFactoryToDefault(notation);
+    }
   }
 
 }
@@ -0,0 +1,105 @@
+/**
+ * *****************************************************************************
+ * Copyright C 2015, The Pistoia Alliance
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *****************************************************************************
+ */
+package org.helm.notation2;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.helm.notation2.tools.MethodsMonomerUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * AdHocMonomerTest
+ */
+public class AdHocMonomerTest {
+
+  private static final long INTERVAL = 2000;
+
+  private static final int THREADS = 8;
+
+  private static final String[] SMILES = {"[*]CCCC[*] |$_R1;;;;;_R2$|", "[*]CCCCC[*] |$_R1;;;;;;_R2$|",
+      "[*]CCCCCC[*] |$_R1;;;;;;;_R2$|"};
+
+  @Test
+  public void testConcurrentRegistration() throws Exception {
+    MonomerFactory factory = MonomerFactory.getInstance();
+    MonomerFactory.setMonomerCacheWriteInterval(INTERVAL);
+    MonomerFactory.flushMonomerCache();
+    int writes = MonomerFactory.getMonomerCacheWriteCount();
+
+    /* the new monomers are only added to this layer */
+    final MonomerStore store = new MonomerStore(factory.getDefaultMonomerStore());
+    final CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      List<List<Future<Monomer>>> results = new ArrayList<List<Future<Monomer>>>();
+      for (final String smiles : SMILES) {
+        List<Future<Monomer>> monomers = new ArrayList<Future<Monomer>>();
+        for (int i = 0; i < THREADS; i++) {
+          monomers.add(executor.submit(new Callable<Monomer>() {
+            @Override
+            public Monomer call() throws Exception {
+              start.await();
+              MonomerFactory.bindMonomerStore(store);
+              try {
+                return MethodsMonomerUtils.getMonomer(Monomer.CHEMICAL_POLYMER_TYPE, smiles, "X");
+              } finally {
+                MonomerFactory.unbindMonomerStore();
+              }
+            }
+          }));
+        }
+        results.add(monomers);
+      }
+      start.countDown();
+
+      /* one monomer per SMILES, each with its own id */
+      Set<String> ids = new HashSet<String>();
+      for (List<Future<Monomer>> monomers : results) {
+        Monomer monomer = monomers.get(0).get();
+        for (Future<Monomer> other : monomers) {
+          Assert.assertSame(other.get(), monomer);
+        }
+        Assert.assertNotNull(store.getMonomer(Monomer.CHEMICAL_POLYMER_TYPE, monomer.getAlternateId()));
+        ids.add(monomer.getAlternateId());
+      }
+      Assert.assertEquals(ids.size(), SMILES.length);
+    } finally {
+      executor.shutdown();
+    }
+
+    /* all registrations are saved in one write */
+    Thread.sleep(INTERVAL * 3);
+    Assert.assertEquals(MonomerFactory.getMonomerCacheWriteCount(), writes + 1);
+    MonomerFactory.setMonomerCacheWriteInterval(MonomerCachePersister.DEFAULT_WRITE_INTERVAL);
+  }
+}
@@ -0,0 +1,113 @@
+/**
+ * *****************************************************************************
+ * Copyright C 2015, The Pistoia Alliance
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *****************************************************************************
+ */
+package org.helm.notation2;
+
+import java.io.File;
+import java.io.FilenameFilter;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * MonomerCachePersisterTest
+ */
+public class MonomerCachePersisterTest {
+
+  private static final long INTERVAL = 300;
+
+  @Test
+  public void testCoalescedWrite() throws Exception {
+    MonomerFactory factory = MonomerFactory.getInstance();
+    MonomerCachePersister persister = new MonomerCachePersister();
+    persister.setWriteInterval(INTERVAL);
+    for (int i = 0; i < 10; i++) {
+      MonomerFactory.setDBChanged(true);
+      persister.schedule(factory);
+    }
+    Assert.assertEquals(persister.getWriteCount(), 0);
+    waitForWrites(persister, 1);
+    Thread.sleep(2 * INTERVAL);
+    Assert.assertEquals(persister.getWriteCount(), 1);
+    Assert.assertFalse(MonomerFactory.hasDBChanged());
+    assertCacheReplaced();
+  }
+
+  @Test
+  public void testWriteInterval() throws Exception {
+    MonomerFactory factory = MonomerFactory.getInstance();
+    MonomerCachePersister persister = new MonomerCachePersister();
+    persister.setWriteInterval(INTERVAL);
+    MonomerFactory.setDBChanged(true);
+    persister.schedule(factory);
+    waitForWrites(persister, 1);
+
+    /* a change right after a write is written one interval later */
+    long start = System.currentTimeMillis();
+    MonomerFactory.setDBChanged(true);
+    persister.schedule(factory);
+    waitForWrites(persister, 2);
+    Assert.assertTrue(System.currentTimeMillis() - start >= INTERVAL);
+  }
+
+  @Test
+  public void testFlush() throws Exception {
+    MonomerFactory factory = MonomerFactory.getInstance();
+    MonomerCachePersister persister = new MonomerCachePersister();
+    persister.setWriteInterval(60000);
+    MonomerFactory.setDBChanged(true);
+    persister.schedule(factory);
+    Assert.assertEquals(persister.getWriteCount(), 0);
+    persister.flush();
+    Assert.assertEquals(persister.getWriteCount(), 1);
+    Assert.assertFalse(MonomerFactory.hasDBChanged());
+
+    /* nothing is pending anymore */
+    persister.flush();
+    Assert.assertEquals(persister.getWriteCount(), 1);
+    assertCacheReplaced();
+  }
+
+  private static void waitForWrites(MonomerCachePersister persister, int count) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 20 * INTERVAL;
+    while (persister.getWriteCount() < count && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    Thread.sleep(100);
+    Assert.assertEquals(persister.getWriteCount(), count);
+  }
+
+  /* the cache files are written to temporary files, which replace the cache */
+  private static void assertCacheReplaced() {
+    Assert.assertTrue(new File(MonomerFactory.MONOMER_CACHE_FILE_PATH).exists());
+    Assert.assertTrue(new File(MonomerFactory.MONOMER_DB_FILE_PATH).exists());
+    String[] tmpFiles = new File(MonomerFactory.NOTATION_DIRECTORY).list(new FilenameFilter() {
+      @Override
+      public boolean accept(File dir, String name) {
+        return name.endsWith(".tmp")
+            && (name.startsWith(MonomerFactory.MONOMER_CACHE_FILE_NAME) || name.startsWith(MonomerFactory.MONOMER_DB_FILE_NAME));
+      }
+    });
+    Assert.assertEquals(tmpFiles.length, 0);
+  }
+}
@@ -0,0 +1,65 @@
+/**
+ * *****************************************************************************
+ * Copyright C 2015, The Pistoia Alliance
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *****************************************************************************
+ */
+package org.helm.notation2;
+
+import java.io.IOException;
+
+import org.helm.notation2.exception.MonomerException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * MonomerStoreTest
+ */
+public class MonomerStoreTest {
+
+  @Test
+  public void testLayeredMonomerStore() throws IOException, MonomerException {
+    MonomerStore base = new MonomerStore();
+    base.addMonomer(new Monomer(Monomer.PEPTIDE_POLYMER_TYPE, Monomer.BACKBONE_MOMONER_TYPE, "A", "A"));
+
+    MonomerStore overlay = new MonomerStore(base);
+    overlay.addMonomer(new Monomer(Monomer.PEPTIDE_POLYMER_TYPE, Monomer.BACKBONE_MOMONER_TYPE, "X", "Xhelm1"));
+
+    Assert.assertTrue(overlay.hasMonomer(Monomer.PEPTIDE_POLYMER_TYPE, "A"));
+    Assert.assertTrue(overlay.hasMonomer(Monomer.PEPTIDE_POLYMER_TYPE, "Xhelm1"));
+    Assert.assertEquals(overlay.getMonomers(Monomer.PEPTIDE_POLYMER_TYPE).size(), 2);
+    Assert.assertEquals(overlay.getAllMonomersList().size(), 2);
+
+    /* the base store is not changed */
+    Assert.assertFalse(base.hasMonomer(Monomer.PEPTIDE_POLYMER_TYPE, "Xhelm1"));
+    Assert.assertFalse(overlay.hasMonomer(Monomer.CHEMICAL_POLYMER_TYPE, "A"));
+  }
+
+  @Test(expectedExceptions = UnsupportedOperationException.class)
+  public void testLayeredMonomersUnmodifiable() throws IOException, MonomerException {
+    MonomerStore base = new MonomerStore();
+    base.addMonomer(new Monomer(Monomer.PEPTIDE_POLYMER_TYPE, Monomer.BACKBONE_MOMONER_TYPE, "A", "A"));
+
+    /* also a copy if the overlay is empty, the base store can not be changed through it */
+    MonomerStore overlay = new MonomerStore(base);
+    Assert.assertEquals(overlay.getMonomer(Monomer.PEPTIDE_POLYMER_TYPE, "a").getAlternateId(), "A");
+    overlay.getMonomers(Monomer.PEPTIDE_POLYMER_TYPE).put("B", null);
+  }
+}
@@ -0,0 +1,68 @@
+/**
+ * *****************************************************************************
+ * Copyright C 2015, The Pistoia Alliance
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *****************************************************************************
+ */
+package org.helm.notation2;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.helm.notation2.exception.NucleotideLoadingException;
+import org.helm.notation2.tools.SymbolTrie;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * NucleotideFactoryTest
+ */
+public class NucleotideFactoryTest {
+
+  @Test
+  public void testNucleotideSymbolTrie() throws NucleotideLoadingException {
+    NucleotideFactory factory = NucleotideFactory.getInstance();
+    SymbolTrie trie = factory.getNucleotideSymbolTrie();
+    Assert.assertEquals(trie.tokenize("AdAmUfT"), Arrays.asList("A", "dA", "mU", "fT"));
+  }
+
+  @Test
+  public void testNucleotideSymbolTrieLongestMatch() throws NucleotideLoadingException {
+    NucleotideFactory factory = NucleotideFactory.getInstance();
+    Map<String, Map<String, String>> templates = factory.getNucleotideTemplates();
+    SymbolTrie trie = factory.getNucleotideSymbolTrie();
+
+    /* Am overlaps with A followed by mA */
+    Map<String, String> nucleotides = new HashMap<String, String>(templates.get(NotationConstant.NOTATION_SOURCE));
+    nucleotides.put("Am", "[mR](A)P");
+    Map<String, Map<String, String>> extended = new HashMap<String, Map<String, String>>(templates);
+    extended.put(NotationConstant.NOTATION_SOURCE, nucleotides);
+    factory.setNucleotideTemplates(extended);
+    try {
+      Assert.assertNotSame(factory.getNucleotideSymbolTrie(), trie);
+      Assert.assertEquals(factory.getNucleotideSymbolTrie().tokenize("AmAmA"), Arrays.asList("Am", "Am", "A"));
+      Assert.assertEquals(factory.getNucleotideSymbolTrie().tokenize("AmU"), Arrays.asList("Am", "U"));
+    } finally {
+      factory.setNucleotideTemplates(templates);
+    }
+    Assert.assertEquals(factory.getNucleotideSymbolTrie().tokenize("AmA"), Arrays.asList("A", "mA"));
+  }
+}
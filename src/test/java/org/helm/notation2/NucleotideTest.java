@@ -0,0 +1,116 @@
+/**
+ * *****************************************************************************
+ * Copyright C 2015, The Pistoia Alliance
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *****************************************************************************
+ */
+package org.helm.notation2;
+
+import java.io.IOException;
+
+import org.helm.notation2.exception.MonomerException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * NucleotideTest
+ */
+public class NucleotideTest {
+
+  /* monomer store counting the lookups of single monomers */
+  private static class CountingMonomerStore extends MonomerStore {
+
+    private int lookups;
+
+    @Override
+    public synchronized Monomer getMonomer(String polymerType, String alternateId) {
+      lookups++;
+      return super.getMonomer(polymerType, alternateId);
+    }
+  }
+
+  private static CountingMonomerStore createStore(String sugar) throws IOException, MonomerException {
+    CountingMonomerStore store = new CountingMonomerStore();
+    store.addMonomer(new Monomer(Monomer.NUCLIEC_ACID_POLYMER_TYPE, Monomer.BACKBONE_MOMONER_TYPE, "R", sugar));
+    store.addMonomer(new Monomer(Monomer.NUCLIEC_ACID_POLYMER_TYPE, Monomer.BRANCH_MOMONER_TYPE, "A", "A"));
+    store.addMonomer(new Monomer(Monomer.NUCLIEC_ACID_POLYMER_TYPE, Monomer.BACKBONE_MOMONER_TYPE, "P", "P"));
+    return store;
+  }
+
+  @Test
+  public void testCachedMonomers() throws IOException, MonomerException {
+    CountingMonomerStore store = createStore("R");
+    Nucleotide nucleotide = new Nucleotide("A", "R(A)P");
+
+    Monomer base = nucleotide.getBaseMonomer(store);
+    Monomer sugar = nucleotide.getSugarMonomer(store);
+    Monomer phosphate = nucleotide.getPhosphateMonomer(store);
+    Assert.assertEquals(base.getAlternateId(), "A");
+    Assert.assertEquals(sugar.getAlternateId(), "R");
+    Assert.assertEquals(phosphate.getAlternateId(), "P");
+    Assert.assertEquals(store.lookups, 3);
+
+    /* repeated calls are answered from the cache */
+    for (int i = 0; i < 10; i++) {
+      Assert.assertSame(nucleotide.getBaseMonomer(store), base);
+      Assert.assertSame(nucleotide.getSugarMonomer(store), sugar);
+      Assert.assertSame(nucleotide.getPhosphateMonomer(store), phosphate);
+    }
+    Assert.assertEquals(store.lookups, 3);
+  }
+
+  @Test
+  public void testChangedStore() throws IOException, MonomerException {
+    CountingMonomerStore store = createStore("R");
+    Nucleotide nucleotide = new Nucleotide("A", "R(A)P");
+    Monomer base = nucleotide.getBaseMonomer(store);
+    Assert.assertEquals(store.lookups, 3);
+
+    store.markChanged();
+    Assert.assertSame(nucleotide.getBaseMonomer(store), base);
+    Assert.assertEquals(store.lookups, 6);
+  }
+
+  @Test
+  public void testSwappedStore() throws IOException, MonomerException {
+    CountingMonomerStore store = createStore("R");
+    Nucleotide nucleotide = new Nucleotide("A", "R(A)P");
+    Assert.assertNotNull(nucleotide.getSugarMonomer(store));
+
+    /* the sugar R is unknown to the other store */
+    CountingMonomerStore other = createStore("dR");
+    Monomer base = nucleotide.getBaseMonomer(other);
+    Assert.assertNotSame(base, nucleotide.getBaseMonomer(store));
+    Assert.assertSame(nucleotide.getBaseMonomer(other), base);
+    Assert.assertNull(nucleotide.getSugarMonomer(other));
+    Assert.assertEquals(other.lookups, 6);
+  }
+
+  @Test
+  public void testChangedNotation() throws IOException, MonomerException {
+    CountingMonomerStore store = createStore("R");
+    Nucleotide nucleotide = new Nucleotide("A", "R(A)P");
+    Assert.assertNotNull(nucleotide.getBaseMonomer(store));
+
+    nucleotide.setNotation("R(A)");
+    Assert.assertNotNull(nucleotide.getBaseMonomer(store));
+    Assert.assertNull(nucleotide.getPhosphateMonomer(store));
+  }
+}
@@ -0,0 +1,61 @@
+/**
+ * *****************************************************************************
+ * Copyright C 2015, The Pistoia Alliance
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *****************************************************************************
+ */
+package org.helm.notation2.tools;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.helm.notation2.MonomerFactory;
+import org.helm.notation2.MonomerStore;
+import org.helm.notation2.exception.NotationException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * AminoAcidParserTest
+ */
+public class AminoAcidParserTest {
+
+  @Test
+  public void testPeptideLongestMatch() throws Exception {
+    List<String> ids = AminoAcidParser.getAminoAcidList("GAibG");
+    Assert.assertEquals(ids, Arrays.asList("G", "Aib", "G"));
+  }
+
+  @Test(expectedExceptions = NotationException.class)
+  public void testUnknownAminoAcid() throws Exception {
+    AminoAcidParser.getAminoAcidList("GJ");
+  }
+
+  @Test
+  public void testPeptideTriePerStore() throws Exception {
+    MonomerStore store = MonomerFactory.getInstance().getMonomerStore();
+    MonomerStore overlay = new MonomerStore(store);
+    SymbolTrie trie = AminoAcidParser.getPeptideTrie(store);
+    SymbolTrie overlayTrie = AminoAcidParser.getPeptideTrie(overlay);
+    Assert.assertSame(AminoAcidParser.getPeptideTrie(store), trie);
+    Assert.assertSame(AminoAcidParser.getPeptideTrie(overlay), overlayTrie);
+    Assert.assertEquals(overlayTrie.match("Aib", 0), "Aib");
+  }
+}
@@ -0,0 +1,59 @@
+/**
+ * *****************************************************************************
+ * Copyright C 2015, The Pistoia Alliance
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *****************************************************************************
+ */
+package org.helm.notation2.tools;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * ConnectionDetailTest
+ */
+public class ConnectionDetailTest {
+
+  @Test
+  public void testSpecificConnection() {
+    ConnectionDetail detail = new ConnectionDetail();
+    Assert.assertTrue(detail.scan("1", "R3", "4", "R3"));
+    Assert.assertEquals(detail.getSourceUnit(), 1);
+    Assert.assertEquals(detail.getTargetUnit(), 4);
+    Assert.assertEquals(detail.getRGroupSource(), 3);
+    Assert.assertEquals(detail.getRGroupTarget(), 3);
+    Assert.assertFalse(detail.isPair());
+
+    Assert.assertTrue(detail.scan("9", "pair", "23", "pair"));
+    Assert.assertTrue(detail.isPair());
+    Assert.assertEquals(detail.getSourceUnit(), 9);
+    Assert.assertEquals(detail.getTargetUnit(), 23);
+  }
+
+  @Test
+  public void testUnspecificConnection() {
+    ConnectionDetail detail = new ConnectionDetail();
+    Assert.assertFalse(detail.scan("X", "R3", "?", "?"));
+    Assert.assertFalse(detail.scan("(4,8)", "pair", "12", "pair"));
+    Assert.assertFalse(detail.scan("1", "R12", "4", "R3"));
+    Assert.assertFalse(detail.scan("1", "pair", "4", "R3"));
+    Assert.assertFalse(detail.isSpecific());
+  }
+}
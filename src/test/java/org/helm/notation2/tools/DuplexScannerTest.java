@@ -0,0 +1,84 @@
+/**
+ * *****************************************************************************
+ * Copyright C 2015, The Pistoia Alliance
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *****************************************************************************
+ */
+package org.helm.notation2.tools;
+
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * DuplexScannerTest
+ */
+public class DuplexScannerTest {
+
+  @Test
+  public void testScan() {
+    /* ACGUA pairs with UACGU of the target */
+    DuplexScanner scanner = new DuplexScanner("GGACGUAGG", 4, false);
+    List<DuplexScanner.DuplexRegion> regions = scanner.scan("AAUACGUAA");
+    Assert.assertEquals(regions.size(), 1);
+    DuplexScanner.DuplexRegion region = regions.get(0);
+    Assert.assertEquals(region.getGuideStart(), 2);
+    Assert.assertEquals(region.getTargetStart(), 2);
+    Assert.assertEquals(region.getLength(), 5);
+    Assert.assertEquals(region.getWobblePairs(), 0);
+
+    /* T is treated as U */
+    Assert.assertEquals(scanner.scan("AATACGTAA"), regions);
+    Assert.assertTrue(new DuplexScanner("GGACGUAGG", 6, false).scan("AAUACGUAA").isEmpty());
+  }
+
+  @Test
+  public void testScanWobble() {
+    /* the target G opposite of the guide U only pairs as wobble pair */
+    Assert.assertEquals(new DuplexScanner("ACGUACG", 7, false).scan("CGUACGU").size(), 1);
+    Assert.assertTrue(new DuplexScanner("ACGUACG", 7, false).scan("CGUGCGU").isEmpty());
+    List<DuplexScanner.DuplexRegion> regions = new DuplexScanner("ACGUACG", 7, true).scan("CGUGCGU");
+    Assert.assertEquals(regions.size(), 1);
+    Assert.assertEquals(regions.get(0).getLength(), 7);
+    Assert.assertEquals(regions.get(0).getWobblePairs(), 1);
+  }
+
+  @Test
+  public void testScanUnknownBase() {
+    /* X does not pair, not even with X */
+    Assert.assertTrue(new DuplexScanner("XXXX", 1, true).scan("XXXX").isEmpty());
+    List<DuplexScanner.DuplexRegion> regions = new DuplexScanner("ACXGU", 2, false).scan("ACXGU");
+    Assert.assertEquals(regions.size(), 2);
+    Assert.assertEquals(regions.get(0).getLength(), 2);
+    Assert.assertEquals(regions.get(1).getLength(), 2);
+  }
+
+  @Test
+  public void testScanAllRegions() {
+    /* both halves of the guide pair with separate parts of the target */
+    List<DuplexScanner.DuplexRegion> regions = new DuplexScanner("AAAACCCC", 4, false).scan("GGGGAAUUUU");
+    Assert.assertEquals(regions.size(), 2);
+    Assert.assertEquals(regions.get(0).getGuideStart(), 4);
+    Assert.assertEquals(regions.get(0).getTargetStart(), 0);
+    Assert.assertEquals(regions.get(1).getGuideStart(), 0);
+    Assert.assertEquals(regions.get(1).getTargetStart(), 6);
+  }
+}
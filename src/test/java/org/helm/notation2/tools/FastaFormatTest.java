@@ -24,8 +24,15 @@
 package org.helm.notation2.tools;
 
 import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.helm.chemtoolkit.CTKException;
+import org.helm.notation2.Monomer;
 import org.helm.notation2.exception.AnalogSequenceException;
 import org.helm.notation2.exception.ChemistryException;
 import org.helm.notation2.exception.FastaFormatException;
@@ -135,4 +142,73 @@ public class FastaFormatTest {
     return FastaFormat.convertIntoAnalogSequence(parserHELM2.getHELM2Notation()).toHELM2();
   }
 
+  @Test
+  public void testFastaReaderPeptide() throws IOException, FastaFormatException, ChemistryException {
+    String fasta = ">seq0\nFQTWEEF\nSRAAEK\n>seq1\nkyrtw eef\n";
+    try (FastaReader reader = new FastaReader(new StringReader(fasta), Monomer.PEPTIDE_POLYMER_TYPE)) {
+      Iterator<HELM2Notation> iterator = reader.iterator();
+      Assert.assertTrue(iterator.hasNext());
+      Assert.assertEquals(iterator.next().toHELM2(), "PEPTIDE1{F.Q.T.W.E.E.F.S.R.A.A.E.K}\"seq0\"$$$$V2.0");
+      Assert.assertEquals(iterator.next().toHELM2(), "PEPTIDE2{K.Y.R.T.W.E.E.F}\"seq1\"$$$$V2.0");
+      Assert.assertFalse(iterator.hasNext());
+    }
+  }
+
+  @Test
+  public void testFastaWriter() throws ExceptionState, IOException, JDOMException, FastaFormatException,
+      ChemistryException {
+    ParserHELM2 parserHELM2 = new ParserHELM2();
+    parserHELM2.parse(new ConverterHELM1ToHELM2().doConvert("RNA1{R(U)P.R(T)P.R(G)P.R(C)}|PEPTIDE1{G.H.[dF].G.H}$$$$"));
+    StringBuilder fasta = new StringBuilder();
+    new FastaWriter(fasta, 2).write(parserHELM2.getHELM2Notation());
+    Assert.assertEquals(fasta.toString(), ">PEPTIDE1\nGH\nFG\nH\n>RNA1\nUT\nGC\n");
+  }
+
+  @Test
+  public void testFastaConverterIsShared() throws FastaFormatException, ChemistryException {
+    Assert.assertSame(FastaConverter.getInstance(), FastaConverter.getInstance());
+  }
+
+  @Test
+  public void testFastaPipeline() throws Exception {
+    StringBuilder fasta = new StringBuilder();
+    for (int i = 0; i < 20; i++) {
+      fasta.append(">seq" + i + "\n" + (i == 7 ? "GH_K" : "GHK") + "\n");
+    }
+    final List<FastaPipeline.Result> results = new ArrayList<FastaPipeline.Result>();
+    ExecutorService executor = Executors.newFixedThreadPool(3);
+    try (FastaReader reader = new FastaReader(new StringReader(fasta.toString()), Monomer.PEPTIDE_POLYMER_TYPE)) {
+      FastaPipeline pipeline = new FastaPipeline(executor, 4);
+      pipeline.setValidate(true);
+      int count = pipeline.run(reader, new FastaPipeline.ResultHandler() {
+        @Override
+        public void handle(FastaPipeline.Result result) {
+          results.add(result);
+        }
+      });
+      Assert.assertEquals(count, 20);
+    } finally {
+      executor.shutdown();
+    }
+    Assert.assertEquals(results.size(), 20);
+    for (int i = 0; i < 20; i++) {
+      FastaPipeline.Result result = results.get(i);
+      Assert.assertEquals(result.getNumber(), i + 1);
+      Assert.assertEquals(result.getRecord().getHeader(), "seq" + i);
+      Assert.assertEquals(result.isSuccessful(), i != 7);
+    }
+    Assert.assertEquals(results.get(0).getHELM2Notation().toHELM2(), "PEPTIDE1{G.H.K}\"seq0\"$$$$V2.0");
+  }
+
+  @Test
+  public void testFastaReaderRNA() throws IOException, FastaFormatException, ChemistryException, NotationException,
+      JDOMException {
+    String fasta = ">Seq1\nCCTT\n>Seq2\n3'-UG-5'";
+    try (FastaReader reader = new FastaReader(new StringReader(fasta), Monomer.NUCLIEC_ACID_POLYMER_TYPE)) {
+      Assert.assertEquals(reader.readPolymer().getAnnotation(), "Seq1");
+      Assert.assertEquals(reader.readPolymer().getAnnotation(), "Seq2 3'-5'");
+      Assert.assertNull(reader.readPolymer());
+    }
+  }
+
 }
@@ -0,0 +1,76 @@
+/**
+ * *****************************************************************************
+ * Copyright C 2015, The Pistoia Alliance
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *****************************************************************************
+ */
+package org.helm.notation2.tools;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.helm.notation2.exception.ChemistryException;
+import org.helm.notation2.exception.FastaFormatException;
+import org.helm.notation2.exception.HELM2HandledException;
+import org.helm.notation2.exception.NotationException;
+import org.helm.notation2.exception.RNAUtilsException;
+import org.helm.notation2.parser.notation.connection.ConnectionNotation;
+import org.helm.notation2.parser.notation.polymer.PolymerNotation;
+import org.jdom2.JDOMException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * HybridizationIndexTest
+ */
+public class HybridizationIndexTest {
+
+  @Test
+  public void testSameConnectionsAsHybridize() throws RNAUtilsException, HELM2HandledException,
+      org.helm.notation2.parser.exceptionparser.NotationException, ChemistryException, FastaFormatException,
+      IOException, JDOMException, NotationException {
+    List<PolymerNotation> targets = new ArrayList<PolymerNotation>();
+    for (String sequence : Arrays.asList("GGAUCGAUCGAUUCGAAGCUU", "AAAAAAAA", "CGATCGATCGATTCGAA")) {
+      targets.add(SequenceConverter.readRNA(sequence).getListOfPolymers().get(0));
+    }
+    HybridizationIndex index = new HybridizationIndex(targets);
+    Assert.assertEquals(index.size(), 3);
+
+    for (String sequence : Arrays.asList("AAGCUUCGAAUCGAUCGAUCC", "UUCGAAUCG", "GGGGCCCC")) {
+      PolymerNotation query = SequenceConverter.readRNA(sequence).getListOfPolymers().get(0);
+      List<List<ConnectionNotation>> all = index.hybridizeAll(query);
+      for (int i = 0; i < targets.size(); i++) {
+        String expected = toString(RNAUtils.hybridize(targets.get(i), query));
+        Assert.assertEquals(toString(all.get(i)), expected);
+        Assert.assertEquals(toString(index.hybridize(i, query)), expected);
+      }
+    }
+  }
+
+  private static String toString(List<ConnectionNotation> connections) {
+    StringBuilder sb = new StringBuilder();
+    for (ConnectionNotation connection : connections) {
+      sb.append(connection.toHELM2()).append('|');
+    }
+    return sb.toString();
+  }
+}
@@ -0,0 +1,111 @@
+/**
+ * *****************************************************************************
+ * Copyright C 2015, The Pistoia Alliance
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *****************************************************************************
+ */
+package org.helm.notation2.tools;
+
+import java.util.List;
+
+import org.helm.notation2.parser.notation.HELM2Notation;
+import org.helm.notation2.parser.notation.connection.ConnectionNotation;
+import org.helm.notation2.parser.notation.polymer.MonomerNotationUnitRNA;
+import org.helm.notation2.parser.notation.polymer.PolymerNotation;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * HybridizationTest
+ */
+public class HybridizationTest {
+
+  private static final String NOTATION = "RNA1{R(A)P.R(G)P.R(C)P.R(U)P.R(U)P.R(U)P.R(U)}|RNA2{P.R(A)P.R(A)P.R(A)P.R(G)P.R(C)P.R(U)}$$$$";
+
+  @Test
+  public void testUpdateAfterSugarChange() throws Exception {
+    HELM2Notation helm2notation = HELM2NotationUtils.readNotation(NOTATION);
+    PolymerNotation one = helm2notation.getListOfPolymers().get(0);
+    PolymerNotation two = helm2notation.getListOfPolymers().get(1);
+    Hybridization hybridization = new Hybridization(one, two);
+    Assert.assertEquals(toString(hybridization.getConnections()), toString(RNAUtils.hybridize(one, two)));
+    Assert.assertFalse(hybridization.update());
+
+    List<ConnectionNotation> before = hybridization.getConnections();
+    ChangeObjects.changeMonomerNotation(2, one, new MonomerNotationUnitRNA("[mR](C)P", "RNA"));
+    Assert.assertFalse(hybridization.update());
+    Assert.assertSame(hybridization.getConnections(), before);
+    Assert.assertEquals(toString(hybridization.getConnections()), toString(RNAUtils.hybridize(one, two)));
+  }
+
+  @Test
+  public void testUpdateAfterBaseChange() throws Exception {
+    HELM2Notation helm2notation = HELM2NotationUtils.readNotation(NOTATION);
+    PolymerNotation one = helm2notation.getListOfPolymers().get(0);
+    PolymerNotation two = helm2notation.getListOfPolymers().get(1);
+    Hybridization hybridization = new Hybridization(one, two);
+
+    ChangeObjects.changeMonomerNotation(2, one, new MonomerNotationUnitRNA("R(G)P", "RNA"));
+    Assert.assertTrue(hybridization.update());
+    Assert.assertEquals(toString(hybridization.getConnections()), toString(RNAUtils.hybridize(one, two)));
+
+    ChangeObjects.changeMonomerNotation(2, one, new MonomerNotationUnitRNA("R(C)P", "RNA"));
+    Assert.assertTrue(hybridization.update());
+    Assert.assertEquals(hybridization.getConnections().size(), 6);
+    Assert.assertEquals(toString(hybridization.getConnections()), toString(RNAUtils.hybridize(one, two)));
+  }
+
+  @Test
+  public void testUpdateHybridization() throws Exception {
+    HELM2Notation helm2notation = HELM2NotationUtils.readNotation(NOTATION);
+    PolymerNotation one = helm2notation.getListOfPolymers().get(0);
+    PolymerNotation two = helm2notation.getListOfPolymers().get(1);
+    Hybridization hybridization = new Hybridization(one, two);
+    for (ConnectionNotation connection : hybridization.getConnections()) {
+      ChangeObjects.addConnection(connection, helm2notation.getListOfConnections().size(), helm2notation);
+    }
+
+    ChangeObjects.changeMonomerNotation(3, two, new MonomerNotationUnitRNA("R(U)P", "RNA"));
+    Assert.assertTrue(ChangeObjects.updateHybridization(helm2notation, hybridization));
+    Assert.assertEquals(toString(helm2notation.getListOfConnections()), toString(RNAUtils.hybridize(one, two)));
+    Assert.assertFalse(ChangeObjects.updateHybridization(helm2notation, hybridization));
+  }
+
+  @Test
+  public void testUpdateHybridizationOfCopiedPairs() throws Exception {
+    HELM2Notation helm2notation = HELM2NotationUtils.readNotation(NOTATION);
+    PolymerNotation one = helm2notation.getListOfPolymers().get(0);
+    PolymerNotation two = helm2notation.getListOfPolymers().get(1);
+    ChangeObjects.hybridize(helm2notation);
+    Hybridization hybridization = new Hybridization(one, two);
+
+    ChangeObjects.changeMonomerNotation(3, two, new MonomerNotationUnitRNA("R(U)P", "RNA"));
+    Assert.assertTrue(ChangeObjects.updateHybridization(helm2notation, hybridization));
+    Assert.assertEquals(toString(helm2notation.getListOfConnections()), toString(RNAUtils.hybridize(one, two)));
+  }
+
+  private static String toString(List<ConnectionNotation> connections) {
+    StringBuilder sb = new StringBuilder();
+    for (ConnectionNotation connection : connections) {
+      sb.append(connection.toHELM2()).append('|');
+    }
+    return sb.toString();
+  }
+}
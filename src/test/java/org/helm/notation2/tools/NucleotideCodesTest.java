@@ -0,0 +1,58 @@
+/**
+ * *****************************************************************************
+ * Copyright C 2015, The Pistoia Alliance
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *****************************************************************************
+ */
+package org.helm.notation2.tools;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class NucleotideCodesTest {
+
+  @Test
+  public void testEncodeDecode() {
+    byte[] codes = NucleotideCodes.encode("ACGUTX");
+    Assert.assertEquals(codes, new byte[] {NucleotideCodes.A, NucleotideCodes.C, NucleotideCodes.G, NucleotideCodes.U,
+        NucleotideCodes.U, NucleotideCodes.X});
+    Assert.assertEquals(NucleotideCodes.decode(codes), "ACGUUX");
+  }
+
+  @Test
+  public void testEncodeUnknown() {
+    Assert.assertNull(NucleotideCodes.encode("ACNG"));
+    Assert.assertNull(NucleotideCodes.encode("acg"));
+    Assert.assertEquals(NucleotideCodes.encode("").length, 0);
+  }
+
+  @Test
+  public void testComplement() {
+    byte[] codes = NucleotideCodes.encode("AACGTX");
+    Assert.assertEquals(NucleotideCodes.decode(NucleotideCodes.complement(codes, false)), "UUGCAX");
+    Assert.assertEquals(NucleotideCodes.decode(NucleotideCodes.complement(codes, true)), "XACGUU");
+  }
+
+  @Test
+  public void testReverseComplementAsInRNAUtils() {
+    Assert.assertEquals(RNAUtils.getReverseComplement("ACGUTX"), "XAACGU");
+    Assert.assertEquals(RNAUtils.getReverseComplement("ANG"), "CnullU");
+  }
+}
@@ -0,0 +1,71 @@
+/**
+ * *****************************************************************************
+ * Copyright C 2015, The Pistoia Alliance
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *****************************************************************************
+ */
+package org.helm.notation2.tools;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.helm.notation2.parser.exceptionparser.NotationException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * NucleotideParserTest
+ */
+public class NucleotideParserTest {
+
+  @Test
+  public void testScanNucleotide() throws NotationException {
+    final List<String> ids = new ArrayList<String>();
+    int count = NucleotideParser.scanNucleotide("[dR]([5meC])P", new NucleotideParser.MonomerSpanHandler() {
+      @Override
+      public void monomerFound(CharSequence notation, int start, int end) {
+        ids.add(notation.subSequence(start, end).toString());
+      }
+    });
+    Assert.assertEquals(count, 3);
+    Assert.assertEquals(ids, Arrays.asList("dR", "5meC", "P"));
+    Assert.assertEquals(NucleotideParser.getMonomerIDListFromNucleotide("R(A)P"), Arrays.asList("R", "A", "P"));
+    Assert.assertEquals(NucleotideParser.getMonomerCountForRNA("[dR](A)P"), 3);
+  }
+
+  @Test
+  public void testBasePosition() throws NotationException {
+    Assert.assertEquals(NucleotideParser.getBasePosition("R(A)P"), 2);
+    Assert.assertEquals(NucleotideParser.getBasePosition("[dR]([5meC])P"), 2);
+    Assert.assertEquals(NucleotideParser.getBasePosition("[am6]R(G)P"), 3);
+    Assert.assertEquals(NucleotideParser.getBasePosition("P"), 0);
+  }
+
+  @Test(expectedExceptions = NotationException.class)
+  public void testScanNucleotideUnclosedBracket() throws NotationException {
+    NucleotideParser.scanNucleotide("[dR(A)P", null);
+  }
+
+  @Test(expectedExceptions = NotationException.class)
+  public void testScanNucleotideLeadingBranch() throws NotationException {
+    NucleotideParser.getMonomerCountForRNA("(A)P");
+  }
+}
@@ -0,0 +1,73 @@
+/**
+ * *****************************************************************************
+ * Copyright C 2015, The Pistoia Alliance
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *****************************************************************************
+ */
+package org.helm.notation2.tools;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.helm.notation2.exception.RNAUtilsException;
+import org.helm.notation2.parser.notation.polymer.PolymerNotation;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * RnaFingerprintTest
+ */
+public class RnaFingerprintTest {
+
+  @Test
+  public void testSameNotationSameFingerprint() throws Exception {
+    RnaFingerprint one = RNAUtils.getFingerprint(polymer("RNA1{R(A)P.[dR](C)P.R([5meC])P.R(U)}$$$$"));
+    RnaFingerprint two = RNAUtils.getFingerprint(polymer("RNA1{R(A)P.[dR](C)P.R([5meC])P.R(U)}$$$$"));
+    Assert.assertEquals(one, two);
+    Assert.assertEquals(one.hashCode(), two.hashCode());
+    Assert.assertEquals(one.toString(), two.toString());
+    Assert.assertEquals(one.toString().length(), 32);
+  }
+
+  @Test
+  public void testModificationsChangeFingerprint() throws Exception {
+    Set<RnaFingerprint> fingerprints = new HashSet<RnaFingerprint>();
+    fingerprints.add(RNAUtils.getFingerprint(polymer("RNA1{R(A)P.R(C)P.R(U)}$$$$")));
+    /* sugar */
+    fingerprints.add(RNAUtils.getFingerprint(polymer("RNA1{[mR](A)P.R(C)P.R(U)}$$$$")));
+    /* base */
+    fingerprints.add(RNAUtils.getFingerprint(polymer("RNA1{R(A)P.R([5meC])P.R(U)}$$$$")));
+    /* linker */
+    fingerprints.add(RNAUtils.getFingerprint(polymer("RNA1{R(A)[sP].R(C)P.R(U)}$$$$")));
+    /* order */
+    fingerprints.add(RNAUtils.getFingerprint(polymer("RNA1{R(C)P.R(A)P.R(U)}$$$$")));
+    Assert.assertEquals(fingerprints.size(), 5);
+    Assert.assertTrue(fingerprints.contains(RNAUtils.getFingerprint(polymer("RNA1{R(A)P.R(C)P.R(U)}$$$$"))));
+  }
+
+  @Test(expectedExceptions = RNAUtilsException.class)
+  public void testPeptide() throws Exception {
+    RNAUtils.getFingerprint(polymer("PEPTIDE1{A.C.D}$$$$"));
+  }
+
+  private static PolymerNotation polymer(String notation) throws Exception {
+    return HELM2NotationUtils.readNotation(notation).getListOfPolymers().get(0);
+  }
+}
@@ -0,0 +1,112 @@
+/**
+ * *****************************************************************************
+ * Copyright C 2015, The Pistoia Alliance
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *****************************************************************************
+ */
+package org.helm.notation2.tools;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.helm.notation2.Nucleotide;
+import org.helm.notation2.exception.ChemistryException;
+import org.helm.notation2.exception.FastaFormatException;
+import org.helm.notation2.exception.HELM2HandledException;
+import org.helm.notation2.exception.ParserException;
+import org.helm.notation2.exception.RNAUtilsException;
+import org.helm.notation2.parser.exceptionparser.NotationException;
+import org.helm.notation2.parser.notation.polymer.PolymerNotation;
+import org.jdom2.JDOMException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * RnaViewTest
+ */
+public class RnaViewTest {
+
+  @Test
+  public void testView() throws ParserException, JDOMException, NotationException, RNAUtilsException,
+      HELM2HandledException, ChemistryException {
+    PolymerNotation polymer =
+        HELM2NotationUtils.readNotation("RNA1{R(A)P.[dR](C)P.R([5meC])P.R(U)}$$$$V2.0").getListOfPolymers().get(0);
+    RnaView view = RnaView.of(polymer);
+    Assert.assertSame(RnaView.of(polymer), view);
+    Assert.assertEquals(view.getNucleotideCount(), 4);
+    Assert.assertEquals(view.getSequence(), "ACCU");
+    Assert.assertEquals(view.getReverseComplement(), "AGGU");
+    Assert.assertEquals(view.getMonomerPosition(0), 0);
+    Assert.assertEquals(view.getMonomerPosition(1), 3);
+    Assert.assertEquals(view.getMonomerCount(), 11);
+    Assert.assertFalse(view.isModified(0));
+    Assert.assertTrue(view.isModified(1));
+    Assert.assertTrue(view.hasModification());
+    Assert.assertEquals(view.getBasePosition(0), 2);
+    Assert.assertEquals(view.getBasePosition(3), 11);
+  }
+
+  @Test
+  public void testBasePositionWithoutPhosphate() throws ParserException, JDOMException, NotationException,
+      RNAUtilsException, HELM2HandledException, ChemistryException {
+    PolymerNotation polymer =
+        HELM2NotationUtils.readNotation("RNA1{R(A)P.R(C).R(G)P.R(U)}$$$$V2.0").getListOfPolymers().get(0);
+    RnaView view = RnaView.of(polymer);
+    Assert.assertEquals(view.getBasePosition(1), 5);
+    Assert.assertEquals(view.getBasePosition(2), 7);
+    Assert.assertEquals(view.getBasePosition(3), 10);
+    Assert.assertEquals(view.getNucleotideIndex(1), 0);
+    Assert.assertEquals(view.getNucleotideIndex(4), 1);
+    Assert.assertEquals(view.getNucleotideIndex(5), 1);
+    Assert.assertEquals(view.getNucleotideIndex(6), 2);
+    Assert.assertEquals(view.getNucleotideIndex(10), 3);
+    Assert.assertEquals(view.getNucleotideIndex(11), -1);
+  }
+
+  @Test
+  public void testViewAfterChange() throws NotationException, RNAUtilsException, HELM2HandledException,
+      ChemistryException, FastaFormatException, IOException, JDOMException {
+    PolymerNotation polymer = SequenceConverter.readRNA("ACG").getListOfPolymers().get(0);
+    RnaView view = RnaView.of(polymer);
+    Assert.assertEquals(view.getMonomerCount(), 8);
+    RNAUtils.addLastP(polymer);
+    Assert.assertNotSame(RnaView.of(polymer), view);
+    Assert.assertEquals(RnaView.of(polymer).getMonomerCount(), 9);
+  }
+
+  @Test
+  public void testNucleotideListIsCopied() throws NotationException, RNAUtilsException, HELM2HandledException,
+      ChemistryException, FastaFormatException, IOException, JDOMException {
+    PolymerNotation polymer = SequenceConverter.readRNA("ACG").getListOfPolymers().get(0);
+    List<Nucleotide> nucleotides = RNAUtils.getNucleotideList(polymer);
+    Assert.assertNotSame(nucleotides.get(0), RnaView.of(polymer).getNucleotides().get(0));
+    nucleotides.get(0).setSymbol("X");
+    Assert.assertEquals(RNAUtils.getModifiedNucleotideSequence(polymer), "ACG");
+  }
+
+  @Test(expectedExceptions = HELM2HandledException.class)
+  public void testViewAfterCountChange() throws NotationException, RNAUtilsException, HELM2HandledException,
+      ChemistryException, FastaFormatException, IOException, JDOMException {
+    PolymerNotation polymer = SequenceConverter.readRNA("ACG").getListOfPolymers().get(0);
+    Assert.assertEquals(RNAUtils.getSequence(polymer), "ACG");
+    ChangeObjects.addCountToMonomerNotation(polymer, 1, "3");
+    RNAUtils.getSequence(polymer);
+  }
+}
@@ -24,8 +24,15 @@
 package org.helm.notation2.tools;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.helm.notation2.exception.ChemistryException;
+import org.helm.notation2.exception.FastaFormatException;
 import org.helm.notation2.exception.HELM2HandledException;
 import org.helm.notation2.exception.MonomerException;
 import org.helm.notation2.exception.MonomerLoadingException;
@@ -64,4 +71,37 @@ public class SequenceConverterTest {
     Assert.assertEquals(SequenceConverter.getNucleotideSequenceFromNotation(HELM2NotationUtils.readNotation(notation)), "RGU");
   }
 
+  @Test
+  public void testReadPeptides() throws FastaFormatException, ChemistryException, InterruptedException,
+      org.helm.notation2.parser.exceptionparser.NotationException {
+    List<SequenceConverter.Result> results = SequenceConverter.readPeptides(Arrays.asList("GGT", "G?T", "ACDE"), null);
+    Assert.assertEquals(results.size(), 3);
+    Assert.assertTrue(results.get(0).isSuccessful());
+    Assert.assertEquals(results.get(0).getHELM2(), SequenceConverter.readPeptide("GGT").toHELM2());
+    Assert.assertFalse(results.get(1).isSuccessful());
+    Assert.assertNull(results.get(1).getHELM2Notation());
+    Assert.assertEquals(results.get(2).getHELM2(), SequenceConverter.readPeptide("ACDE").toHELM2());
+  }
+
+  @Test
+  public void testReadRNAsWithExecutor() throws FastaFormatException, ChemistryException, InterruptedException,
+      org.helm.notation2.parser.exceptionparser.NotationException, IOException, JDOMException {
+    Map<String, String> sequences = new LinkedHashMap<String, String>();
+    for (int i = 0; i < 600; i++) {
+      sequences.put("seq" + i, (i % 2 == 0) ? "ACGU" : "3'-UGCA-5'");
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(3);
+    try {
+      List<SequenceConverter.Result> results = SequenceConverter.readRNAs(sequences, executor);
+      Assert.assertEquals(results.size(), 600);
+      for (SequenceConverter.Result result : results) {
+        Assert.assertTrue(result.isSuccessful());
+        Assert.assertEquals(result.getId(), "seq" + result.getIndex());
+        Assert.assertEquals(result.getHELM2(), SequenceConverter.readRNA(result.getSequence()).toHELM2());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
 }
@@ -24,6 +24,10 @@
 package org.helm.notation2.tools;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.helm.chemtoolkit.CTKException;
 import org.helm.notation2.exception.ChemistryException;
@@ -50,4 +54,35 @@ public class SiRNANotationTest {
     Assert.assertEquals("RNA1{R(C)P.R(G)P.R(A)P.R(A)P.R(A)P.R(U)P.R(G)P.R(U)P.R(U)P.R(C)P.R(A)P.R(U)P.R(A)P.R(C)P.R(U)P.R(G)P.R(U)P.R(U)P.R(G)P.[dR](T)P.[dR](T)}|RNA2{R(U)P.R(U)P.R(A)P.R(C)P.R(A)P.R(A)P.R(U)P.R(U)P.R(U)P.R(G)P.R(G)P.R(A)P.R(C)P.R(U)P.R(U)P.R(U)P.R(C)P.R(C)P.R(G)P.[dR](T)P.[dR](T)}$RNA1,RNA2,2:pair-56:pair|RNA1,RNA2,5:pair-53:pair|RNA1,RNA2,11:pair-47:pair|RNA1,RNA2,14:pair-44:pair|RNA1,RNA2,20:pair-38:pair|RNA1,RNA2,23:pair-35:pair|RNA1,RNA2,29:pair-29:pair|RNA1,RNA2,32:pair-26:pair|RNA1,RNA2,38:pair-20:pair|RNA1,RNA2,44:pair-14:pair|RNA1,RNA2,47:pair-11:pair|RNA1,RNA2,50:pair-8:pair$$RNA1{ss}|RNA2{as}$V2.0", siNotationNew);
 
   }
+
+  @Test
+  public void testGetSirnaNotations() throws Exception {
+    String senseSeq = "CGAAAUGUUCAUACUGUUGdTdT";
+    String antiSenseSeq = "UUACAAUUUGGACUUUCCGdTdT";
+    List<String> senseSeqs = Arrays.asList(senseSeq, "CGAAAUGUUCAUACUG", senseSeq);
+    List<String> antiSenseSeqs = Arrays.asList(antiSenseSeq, antiSenseSeq, "UUACAAUUUGGACUUUCCGdTdT");
+    String expected = SiRNANotation.getSirnaNotation(senseSeq, antiSenseSeq, NucleotideParser.RNA_DESIGN_TUSCHL_19_PLUS_2).toHELM2();
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      for (ExecutorService service : new ExecutorService[] {null, executor}) {
+        List<SiRNANotation.Result> results =
+            SiRNANotation.getSirnaNotations(senseSeqs, antiSenseSeqs, NucleotideParser.RNA_DESIGN_TUSCHL_19_PLUS_2, service);
+        Assert.assertEquals(results.size(), 3);
+        Assert.assertEquals(results.get(0).getHELM2(), expected);
+        Assert.assertFalse(results.get(1).isSuccessful());
+        Assert.assertEquals(results.get(1).getError().getMessage(), "Sense strand for Tuschl 19+2 design must have 21 nucleotides");
+        Assert.assertEquals(results.get(2).getHELM2(), expected);
+        Assert.assertEquals(results.get(2).getIndex(), 2);
+        Assert.assertEquals(results.get(2).getAntiSenseSequence(), "UUACAAUUUGGACUUUCCGdTdT");
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test(expectedExceptions = org.helm.notation2.parser.exceptionparser.NotationException.class)
+  public void testGetSirnaNotationsUnsupportedDesign() throws Exception {
+    SiRNANotation.getSirnaNotations(Arrays.asList("CGAAAUG"), Arrays.asList("CAUUUCG"), "unknown", null);
+  }
 }
@@ -0,0 +1,68 @@
+/**
+ * *****************************************************************************
+ * Copyright C 2015, The Pistoia Alliance
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *****************************************************************************
+ */
+package org.helm.notation2.tools;
+
+import java.util.Arrays;
+
+import org.helm.notation2.parser.notation.HELM2Notation;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class SirnaDuplexFormatterTest {
+
+  private static final String SIRNA =
+      "RNA1{R(U)P.R(U)P.R(A)P.R(A)P.R(G)P.R(C)P.R(U)P.[dR](T)P.[dR](T)}|RNA2{R(A)P.R(G)P.R(C)P.R(U)P.R(U)P.R(A)P.R(A)P.[dR](T)P.[dR](T)}$$RNA2,RNA1,20:pair-2:pair|RNA2,RNA1,5:pair-17:pair|RNA2,RNA1,2:pair-20:pair|RNA2,RNA1,11:pair-11:pair|RNA2,RNA1,17:pair-5:pair|RNA2,RNA1,14:pair-8:pair|RNA2,RNA1,8:pair-14:pair$RNA1{ss}$";
+
+  @Test
+  public void testFormat() throws Exception {
+    HELM2Notation helm2notation = HELM2NotationUtils.readNotation(SIRNA);
+    String[] expected = {"  UUAAGCUTT", "  |||||||  ", "TTAAUUCGA  "};
+    Assert.assertEquals(new SirnaDuplexFormatter().format(helm2notation), expected);
+    Assert.assertEquals(HELM2NotationUtils.getFormatedSirnaSequences(helm2notation), expected);
+    Assert.assertEquals(new SirnaDuplexFormatter('.', '*').format(helm2notation), new String[] {"..UUAAGCUTT",
+        "..*******..", "TTAAUUCGA.."});
+  }
+
+  @Test
+  public void testFormatWithoutPhosphates() throws Exception {
+    HELM2Notation helm2notation = HELM2NotationUtils.readNotation("RNA1{R(A).R(C).R(G).R(U)}|RNA2{R(A)P.R(C)P.R(G)P.R(U)}"
+        + "$RNA1,RNA2,2:pair-11:pair|RNA1,RNA2,4:pair-8:pair|RNA1,RNA2,6:pair-5:pair|RNA1,RNA2,8:pair-2:pair$$$");
+    Assert.assertEquals(new SirnaDuplexFormatter().format(helm2notation), new String[] {"ACGU", "||||", "UGCA"});
+  }
+
+  @Test
+  public void testFormatWithoutPairs() throws Exception {
+    HELM2Notation helm2notation = HELM2NotationUtils.readNotation("RNA1{R(A)P.R(C)}|RNA2{R(G)P.R(U)}$$$$");
+    Assert.assertEquals(new SirnaDuplexFormatter().format(helm2notation), new String[] {"AC", "GU"});
+  }
+
+  @Test
+  public void testWriteAll() throws Exception {
+    HELM2Notation helm2notation = HELM2NotationUtils.readNotation(SIRNA);
+    StringBuilder sb = new StringBuilder();
+    new SirnaDuplexFormatter().writeAll(Arrays.asList(helm2notation, helm2notation), sb);
+    String duplex = "  UUAAGCUTT\n  |||||||  \nTTAAUUCGA  \n";
+    Assert.assertEquals(sb.toString(), duplex + "\n" + duplex);
+  }
+}
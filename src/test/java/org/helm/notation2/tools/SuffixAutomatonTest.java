@@ -0,0 +1,90 @@
+/**
+ * *****************************************************************************
+ * Copyright C 2015, The Pistoia Alliance
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *****************************************************************************
+ */
+package org.helm.notation2.tools;
+
+import java.util.Random;
+
+import org.helm.notation2.parser.exceptionparser.NotationException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * SuffixAutomatonTest
+ */
+public class SuffixAutomatonTest {
+
+  @Test
+  public void testLongestCommonSubstring() {
+    SuffixAutomaton automaton = new SuffixAutomaton("GACUUAGC");
+    Assert.assertEquals(automaton.getLongestCommonSubstring("CUUAG"), new int[] {0, 5});
+    /* two fragments of length 3, the first one of the query wins */
+    Assert.assertEquals(automaton.getLongestCommonSubstring("UUAXGAC"), new int[] {0, 3});
+    Assert.assertEquals(automaton.getLongestCommonSubstring("XX")[1], 0);
+  }
+
+  @Test
+  public void testSameResultAsSubstringSearch() throws NotationException {
+    Random random = new Random(42);
+    for (int i = 0; i < 2000; i++) {
+      String seq1 = randomSequence(random, random.nextInt(40), "ACGUX");
+      String seq2 = randomSequence(random, random.nextInt(40), "ACGT");
+      Assert.assertEquals(RNAUtils.getMaxMatchFragment(seq1, seq2), getMaxMatchFragmentBySubstrings(seq1, seq2),
+          seq1 + " " + seq2);
+    }
+  }
+
+  /* a linear search answers sequences of 10 kb well within the time limit */
+  @Test(timeOut = 5000)
+  public void testMaxMatchFragment10kb() throws NotationException {
+    Random random = new Random(1);
+    String fragment = randomSequence(random, 50, "ACGU");
+    String seq1 = randomSequence(random, 5000, "ACGU") + fragment + randomSequence(random, 5000, "ACGU");
+    String seq2 = randomSequence(random, 3000, "ACGU") + fragment + randomSequence(random, 7000, "ACGU");
+    Assert.assertTrue(RNAUtils.getMaxMatchFragment(seq1, seq2).contains(fragment));
+  }
+
+  private static String getMaxMatchFragmentBySubstrings(String seq1, String seq2) {
+    String longSeq = (seq1.length() > seq2.length()) ? seq1 : seq2;
+    String shortSeq = (seq1.length() > seq2.length()) ? seq2 : seq1;
+    longSeq = longSeq.replace('T', 'U');
+    shortSeq = shortSeq.replace('T', 'U');
+    for (int len = shortSeq.length(); len > RNAUtils.MINUMUM_MATCH_FRAGMENT_LENGTH; len--) {
+      for (int i = 0; i <= shortSeq.length() - len; i++) {
+        String tmp = shortSeq.substring(i, i + len);
+        if (longSeq.contains(tmp)) {
+          return tmp;
+        }
+      }
+    }
+    return "";
+  }
+
+  private static String randomSequence(Random random, int length, String alphabet) {
+    StringBuilder sb = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+    }
+    return sb.toString();
+  }
+}
@@ -0,0 +1,58 @@
+/**
+ * *****************************************************************************
+ * Copyright C 2015, The Pistoia Alliance
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *****************************************************************************
+ */
+package org.helm.notation2.tools;
+
+import java.util.Arrays;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * SymbolTrieTest
+ */
+public class SymbolTrieTest {
+
+  @Test
+  public void testLongestMatch() {
+    SymbolTrie trie = new SymbolTrie(Arrays.asList("A", "Aib", "C", "Ai"));
+    Assert.assertEquals(trie.size(), 4);
+    Assert.assertEquals(trie.match("AibC", 0), "Aib");
+    Assert.assertEquals(trie.match("AiC", 0), "Ai");
+    Assert.assertEquals(trie.match("AbC", 0), "A");
+    Assert.assertNull(trie.match("AbC", 1));
+    Assert.assertEquals(trie.tokenize("AAibCAiA"), Arrays.asList("A", "Aib", "C", "Ai", "A"));
+  }
+
+  @Test
+  public void testOrderIndependent() {
+    SymbolTrie trie = new SymbolTrie(Arrays.asList("Aib", "A", "C"));
+    SymbolTrie reversed = new SymbolTrie(Arrays.asList("C", "A", "Aib"));
+    Assert.assertEquals(trie.tokenize("CAibA"), reversed.tokenize("CAibA"));
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testUnknownSymbol() {
+    new SymbolTrie(Arrays.asList("A", "C")).tokenize("ACX");
+  }
+}
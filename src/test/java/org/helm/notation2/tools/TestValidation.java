@@ -23,6 +23,8 @@
  */
 package org.helm.notation2.tools;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.helm.chemtoolkit.CTKException;
@@ -271,6 +273,22 @@ public class TestValidation {
     Assert.assertFalse(Validation.validateMonomers(MethodsMonomerUtils.getListOfMonomerNotation(HELM2NotationUtils.readNotation(test).getListOfPolymers())));
 
   }
+
+  @Test
+  public void testMonomerValidationParallel() throws MonomerLoadingException, org.helm.notation2.parser.exceptionparser.NotationException, ChemistryException, ParserException, JDOMException {
+    String valid =
+        "PEPTIDE1{A.X.G.C.(_,N).(A:10,G:30,R:30)'4'\"Group is repeated\".T.C.F.D.W\"mutation\".(A:?+G:1.5).C}|RNA1{[am6]P.(R(N)P)'4'.(R(G)P)'3-7'\"mutation\"}|CHEM1{*}|BLOB1{BEAD}\"AnimatedPolystyrene\"$$$$V2.0";
+    String invalid =
+        "PEPTIDE1{U.X.G.C}|RNA1{[am6]P.(R(N)P)'4'}|CHEM1{*}$$$$V2.0";
+
+    ExecutorService executor = Executors.newFixedThreadPool(3);
+    try {
+      Assert.assertTrue(Validation.validateMonomers(HELM2NotationUtils.readNotation(valid).getListOfPolymers(), executor));
+      Assert.assertFalse(Validation.validateMonomers(HELM2NotationUtils.readNotation(invalid).getListOfPolymers(), executor));
+    } finally {
+      executor.shutdown();
+    }
+  }
   
   @Test
   public void testPnaAsRnaType() throws ParserException, JDOMException {